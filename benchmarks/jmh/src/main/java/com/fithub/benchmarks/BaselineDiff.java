@@ -0,0 +1,107 @@
+package com.fithub.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf json}, typically a committed baseline
+ * and a run of the current build, and prints one line per benchmark and parameter set. A change
+ * counts as a regression when it is worse than {@code --threshold} and larger than the two
+ * runs' combined error, so noise within the confidence intervals is not reported.
+ *
+ * <pre>
+ * java -cp jmh/target/benchmarks.jar com.fithub.benchmarks.BaselineDiff \
+ *     baselines/0.0.1.json results/current.json --threshold=0.10
+ * </pre>
+ *
+ * Exits with status 1 if any benchmark regressed, so it can gate a release build.
+ */
+public class BaselineDiff {
+
+    private record Result(String mode, double score, double error, String unit) {
+        // Throughput is the only JMH mode where a higher score is better
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = 0.10;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            throw new IllegalArgumentException("Usage: BaselineDiff <baseline.json> <current.json> [--threshold=0.10]");
+        }
+
+        Map<String, Result> baseline = read(new File(files.get(0)));
+        Map<String, Result> current = read(new File(files.get(1)));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  new%n", entry.getKey(), "-", now.score(), "");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score();
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean significant = Math.abs(now.score() - before.score()) > before.error() + now.error();
+            String verdict = "";
+            if (significant && worse > threshold) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (significant && -worse > threshold) {
+                verdict = "improved";
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s %s%n",
+                entry.getKey(), before.score(), now.score(), change * 100, now.unit(), verdict);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-90s %14.3f %14s %9s  missing%n", key, baseline.get(key).score(), "-", "");
+            }
+        }
+
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark, mode and parameters so each @Param combination is compared separately
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.path("benchmark").asText().replace("com.fithub.benchmarks.", "");
+            String mode = run.path("mode").asText();
+            StringBuilder key = new StringBuilder(benchmark).append(" [").append(mode);
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(", ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append(']');
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0.0);
+            results.put(key.toString(), new Result(mode, metric.path("score").asDouble(),
+                Double.isNaN(error) ? 0.0 : error, metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+}
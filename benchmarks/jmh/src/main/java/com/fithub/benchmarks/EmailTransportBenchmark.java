@@ -0,0 +1,156 @@
+package com.fithub.benchmarks;
+
+import com.fithub.service.EmailTransport;
+import com.fithub.service.ReminderChannelMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link EmailTransport#send} against an in-process SMTP server that accepts every message.
+ * {@code maxMessagesPerConnection=1} opens and closes a connection per message, as sending
+ * through {@code JavaMailSender} directly does; {@code 100} is the pooled default. The server
+ * runs over loopback without TLS, so the gap is the SMTP greeting, EHLO and QUIT round trips and
+ * the TCP setup; against a real relay the STARTTLS handshake widens it.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar EmailTransportBenchmark -t 8 -rf json -rff email.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class EmailTransportBenchmark {
+    private static final String BODY = "<p>Your membership expires in 7 days.</p>";
+
+    @Param({"1", "100"})
+    public int maxMessagesPerConnection;
+
+    @Param({"8"})
+    public int poolSize;
+
+    private SmtpStub server;
+    private EmailTransport transport;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new SmtpStub();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setProtocol("smtp");
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.port());
+        transport = new EmailTransport(mailSender, new ReminderChannelMetrics(new SimpleMeterRegistry()),
+            poolSize, maxMessagesPerConnection, Duration.ofMinutes(1));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        transport.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public void send() throws MessagingException {
+        MimeMessage message = transport.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom("reminders@fithub.test");
+        helper.setTo("member@fithub.test");
+        helper.setSubject("Membership expiring");
+        helper.setText(BODY, true);
+        transport.send(message);
+    }
+
+    /**
+     * Just enough SMTP for JavaMail to deliver: every command is accepted and message data is
+     * read up to the terminating dot and discarded.
+     */
+    static final class SmtpStub implements AutoCloseable {
+        private final ServerSocket socket;
+        private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SmtpStub() throws IOException {
+            socket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+            connections.execute(this::accept);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    client.setTcpNoDelay(true);
+                    connections.execute(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = client.getOutputStream()) {
+                reply(out, "220 fithub.test ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250-fithub.test\r\n250 8BITMIME");
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // Discarded
+                            }
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (SocketException e) {
+                // Client went away
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void reply(OutputStream out, String reply) throws IOException {
+            out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            connections.shutdownNow();
+        }
+    }
+}
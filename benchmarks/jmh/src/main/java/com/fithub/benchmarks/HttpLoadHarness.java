@@ -0,0 +1,209 @@
+package com.fithub.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against a running API: {@code concurrency} clients each send the next request
+ * as soon as the previous one returns, for {@code duration}. Run it once against an instance
+ * started with {@code --spring.threads.virtual.enabled=false} and once with {@code true} to
+ * compare the two thread modes under the same load.
+ *
+ * <pre>
+ * java -cp jmh/target/benchmarks.jar com.fithub.benchmarks.HttpLoadHarness \
+ *     --url=http://localhost:8080/api/api/members?size=20 --token=$JWT \
+ *     --concurrency=400 --duration=PT60S --label=virtual
+ * </pre>
+ *
+ * {@code --mode=checkin} drives sustained attendance traffic instead of one fixed request:
+ * {@code --url} is the attendance base path and every client owns a disjoint slice of the
+ * member id range {@code --members=from..to}, walking it with check-ins and then check-outs, so
+ * each request is a real state change rather than a repeated ALREADY_CHECKED_IN. The range
+ * needs at least {@code concurrency} active members.
+ *
+ * <pre>
+ * java -cp jmh/target/benchmarks.jar com.fithub.benchmarks.HttpLoadHarness \
+ *     --mode=checkin --url=http://localhost:8080/api/api/attendance --token=$JWT \
+ *     --members=1..20000 --concurrency=200 --duration=PT60S --label=checkin
+ * </pre>
+ *
+ * Prints one JSON line per run so results can be collected and diffed.
+ */
+public class HttpLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(require(options, "url"));
+        String method = options.getOrDefault("method", "GET");
+        String body = options.get("body");
+        String token = options.get("token");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        String label = options.getOrDefault("label", "run");
+
+        String mode = options.getOrDefault("mode", "fixed");
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        // One source per client, kept across warmup and measurement so check-in cycles carry on
+        RequestSource[] sources = new RequestSource[concurrency];
+        if ("checkin".equals(mode)) {
+            String[] range = require(options, "members").split("\\.\\.");
+            long from = Long.parseLong(range[0]);
+            long to = Long.parseLong(range[1]);
+            if (to - from + 1 < concurrency) {
+                throw new IllegalArgumentException("--members must cover at least --concurrency ids");
+            }
+            for (int i = 0; i < concurrency; i++) {
+                sources[i] = new CheckInCycle(uri, token, from + i, to, concurrency);
+            }
+        } else {
+            HttpRequest request = request(uri, token, method, body);
+            Arrays.fill(sources, (RequestSource) () -> request);
+        }
+
+        run(client, sources, warmup, new AtomicLong());
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        long[][] latencies = run(client, sources, duration, errors);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] sorted = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("{\"label\":\"%s\",\"mode\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+                + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"p999Ms\":%.2f,\"maxMs\":%.2f}%n",
+            label, mode, concurrency, sorted.length, errors.get(), sorted.length / elapsedSeconds,
+            percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+            sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0);
+    }
+
+    private interface RequestSource {
+        HttpRequest next();
+    }
+
+    /**
+     * Walks the member ids {@code first, first + stride, ...} up to {@code last}, checking each
+     * in on one pass and out on the next. Clients start at consecutive ids with the same stride,
+     * so no two of them touch the same member.
+     */
+    private static class CheckInCycle implements RequestSource {
+        private final URI checkIn;
+        private final URI checkOut;
+        private final String token;
+        private final long first;
+        private final long last;
+        private final int stride;
+        private long memberId;
+        private boolean checkingOut;
+
+        CheckInCycle(URI base, String token, long first, long last, int stride) {
+            String path = base.toString().endsWith("/") ? base.toString() : base + "/";
+            this.checkIn = URI.create(path + "check-in");
+            this.checkOut = URI.create(path + "check-out");
+            this.token = token;
+            this.first = first;
+            this.last = last;
+            this.stride = stride;
+            this.memberId = first;
+        }
+
+        @Override
+        public HttpRequest next() {
+            String body = "{\"memberId\":" + memberId + ",\"facilityArea\":\"gym\",\"checkInMethod\":\"card\"}";
+            HttpRequest request = request(checkingOut ? checkOut : checkIn, token, "POST", body);
+            memberId += stride;
+            if (memberId > last) {
+                memberId = first;
+                checkingOut = !checkingOut;
+            }
+            return request;
+        }
+    }
+
+    private static HttpRequest request(URI uri, String token, String method, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .method(method, body != null
+                ? HttpRequest.BodyPublishers.ofString(body)
+                : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // Returns each client's successful request latencies in nanoseconds
+    private static long[][] run(HttpClient client, RequestSource[] sources, Duration duration, AtomicLong errors) {
+        int concurrency = sources.length;
+        long deadline = System.nanoTime() + duration.toNanos();
+        long[][] results = new long[concurrency][];
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int index = i;
+                clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(sources[index].next(),
+                                HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    results[index] = Arrays.copyOf(latencies, count);
+                });
+            }
+        }
+        return results;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int split = arg.indexOf('=');
+                options.put(arg.substring(2, split), arg.substring(split + 1));
+            }
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+}
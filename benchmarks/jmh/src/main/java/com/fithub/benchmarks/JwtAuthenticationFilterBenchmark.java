@@ -0,0 +1,87 @@
+package com.fithub.benchmarks;
+
+import com.fithub.security.JwtAuthenticationFilter;
+import com.fithub.security.JwtService;
+import com.fithub.security.JwtTokenCache;
+import com.fithub.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request carrying a bearer token through {@link JwtAuthenticationFilter}: token cache,
+ * principal cache, validation and the security context. {@code tokens} larger than the token
+ * cache turns most requests into cache misses that pay the HS256 verification. The user lookup
+ * is an in-memory map, so the database is not part of the number.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar JwtAuthenticationFilterBenchmark -rf json -rff jwt-filter.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+    private static final long SEED = 42L;
+    private static final int TOKEN_CACHE_SIZE = 10_000;
+    private static final int USERS = 1_000;
+
+    @Param({"1", "100000"})
+    public int tokens;
+
+    private JwtAuthenticationFilter filter;
+    private String[] authorizationHeaders;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(JwtServiceBenchmark.SECRET, JwtServiceBenchmark.EXPIRATION_MILLIS);
+        Map<String, UserDetails> users = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            UserDetails user = JwtServiceBenchmark.user("member" + i + "@fithub.test");
+            users.put(user.getUsername(), user);
+        }
+        filter = new JwtAuthenticationFilter(
+            jwtService,
+            users::get,
+            new JwtTokenCache(TOKEN_CACHE_SIZE, Duration.ofMinutes(15), registry),
+            new UserPrincipalCache(USERS, Duration.ofSeconds(30), registry),
+            registry);
+
+        authorizationHeaders = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            UserDetails user = users.get("member" + (i % USERS) + "@fithub.test");
+            // A distinct claim keeps tokens issued in the same second from being identical
+            Map<String, Object> claims = Map.of("jti", Integer.toString(i), "roles", List.of("ROLE_USER"));
+            authorizationHeaders[i] = "Bearer " + jwtService.generateToken(claims, user);
+        }
+        random = new SplittableRandom(SEED);
+    }
+
+    @Benchmark
+    public int authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members");
+        request.addHeader("Authorization", authorizationHeaders[random.nextInt(tokens)]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            // The filter skips requests that are already authenticated
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,146 @@
+package com.fithub.benchmarks;
+
+import com.fithub.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * HS256 signing and verification of the API's access tokens, which every authenticated request
+ * pays on a token cache miss. {@code impl=current} is {@link JwtService}; {@code impl=legacy}
+ * is the earlier implementation, which decoded the key and built a parser on every call and
+ * parsed the token once per claim it read.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar JwtServiceBenchmark -rf json -rff jwt.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    static final String SECRET = "Zml0aHViLWJlbmNobWFyay1zaWduaW5nLWtleS1vZi1hdC1sZWFzdC0yNTYtYml0cw==";
+    static final long EXPIRATION_MILLIS = 86_400_000L;
+
+    @Param({"legacy", "current"})
+    public String impl;
+
+    private TokenService tokens;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokens = switch (impl) {
+            case "legacy" -> new LegacyTokenService(SECRET, EXPIRATION_MILLIS);
+            case "current" -> new CurrentTokenService(new JwtService(SECRET, EXPIRATION_MILLIS));
+            default -> throw new IllegalArgumentException("Unknown impl: " + impl);
+        };
+        user = user("member@fithub.test");
+        token = tokens.generate(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokens.generate(user);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return tokens.parse(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return tokens.validate(token, user);
+    }
+
+    static UserDetails user(String email) {
+        return new User(email, "{noop}unused", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private interface TokenService {
+        String generate(UserDetails user);
+
+        // Everything the request path reads from a token: subject, issued-at, expiry and roles
+        Object parse(String token);
+
+        boolean validate(String token, UserDetails user);
+    }
+
+    private record CurrentTokenService(JwtService jwtService) implements TokenService {
+        @Override
+        public String generate(UserDetails user) {
+            return jwtService.generateToken(user);
+        }
+
+        @Override
+        public Object parse(String token) {
+            return jwtService.parseToken(token);
+        }
+
+        @Override
+        public boolean validate(String token, UserDetails user) {
+            return jwtService.isTokenValid(token, user);
+        }
+    }
+
+    /**
+     * The token handling {@link JwtService} replaced, kept here as the comparison point.
+     */
+    private record LegacyTokenService(String secretKey, long jwtExpiration) implements TokenService {
+        @Override
+        public String generate(UserDetails user) {
+            return Jwts.builder()
+                .setClaims(new HashMap<>())
+                .setSubject(user.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signInKey(), SignatureAlgorithm.HS256)
+                .compact();
+        }
+
+        @Override
+        public Object parse(String token) {
+            return new Object[]{
+                extractClaim(token, Claims::getSubject),
+                extractClaim(token, Claims::getIssuedAt),
+                extractClaim(token, Claims::getExpiration),
+                extractClaim(token, claims -> claims.get("roles"))
+            };
+        }
+
+        @Override
+        public boolean validate(String token, UserDetails user) {
+            String username = extractClaim(token, Claims::getSubject);
+            return username.equals(user.getUsername())
+                && !extractClaim(token, Claims::getExpiration).before(new Date());
+        }
+
+        private <T> T extractClaim(String token, Function<Claims, T> resolver) {
+            return resolver.apply(Jwts.parserBuilder()
+                .setSigningKey(signInKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody());
+        }
+
+        private Key signInKey() {
+            return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        }
+    }
+}
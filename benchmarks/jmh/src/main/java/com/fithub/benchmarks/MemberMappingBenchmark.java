@@ -0,0 +1,75 @@
+package com.fithub.benchmarks;
+
+import com.fithub.dto.MemberDTO;
+import com.fithub.model.Member;
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+import com.fithub.repository.MemberRepository;
+import com.fithub.service.MemberService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MemberService#createMember}: DTO to entity and entity back to DTO. The repository assigns an id and returns the entity, so the database and the
+ * transaction proxy are not part of the number.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar MemberMappingBenchmark -rf json -rff member-mapping.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class MemberMappingBenchmark {
+    private static final long SEED = 42L;
+    private static final int REQUESTS = 1_024;
+
+    private MemberService memberService;
+    private MemberDTO[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long[] ids = {0};
+        MemberRepository repository = (MemberRepository) Proxy.newProxyInstance(
+            MemberRepository.class.getClassLoader(),
+            new Class<?>[]{MemberRepository.class},
+            (proxy, method, args) -> {
+                if (!"save".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Member member = (Member) args[0];
+                member.setId(ids[0]++ % REQUESTS + 1);
+                return member;
+            });
+        memberService = new MemberService(repository);
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        MembershipType[] types = MembershipType.values();
+        requests = new MemberDTO[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate joined = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1_500));
+            requests[i] = MemberDTO.builder()
+                .name("Member " + i)
+                .email("member" + i + "@fithub.test")
+                .phone("+1555" + (1_000_000 + random.nextInt(9_000_000)))
+                .membershipType(types[random.nextInt(types.length)])
+                .status(MemberStatus.ACTIVE)
+                .joinDate(joined)
+                .membershipExpiry(joined.plusYears(1))
+                .build();
+        }
+    }
+
+    @Benchmark
+    public MemberDTO createMember() {
+        MemberDTO request = requests[next];
+        next = (next + 1) % REQUESTS;
+        return memberService.createMember(request);
+    }
+}
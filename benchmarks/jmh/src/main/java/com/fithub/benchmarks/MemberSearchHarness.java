@@ -0,0 +1,131 @@
+package com.fithub.benchmarks;
+
+import com.fithub.dto.MemberSearchResult;
+import com.fithub.repository.MemberSearchRepositoryImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency of the ranked member search in {@link MemberSearchRepositoryImpl} against a real
+ * Postgres: each term's first page is fetched {@code iterations} times after {@code warmup}
+ * untimed runs, one at a time, and p50 and p99 are reported per term. Load the members with
+ * {@code search/seed-members.sql} first.
+ *
+ * <pre>
+ * java -cp jmh/target/benchmarks.jar com.fithub.benchmarks.MemberSearchHarness \
+ *     --url=jdbc:postgresql://localhost:5432/fithub --user=postgres --password=postgres \
+ *     --label=1m
+ * </pre>
+ *
+ * {@code --terms} replaces the default terms, separated by commas. Prints one JSON line per term.
+ */
+public class MemberSearchHarness {
+    // Common and rare names, a short prefix, two words, an email domain, phone digits and no match
+    private static final List<String> DEFAULT_TERMS = List.of(
+        "maria", "mar", "moreau", "maria garcia", "gmail", "+1 (212) 555", "zzqx");
+
+    public static void main(String[] args) {
+        Map<String, String> options = parse(args);
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "100"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int size = Integer.parseInt(options.getOrDefault("size", "20"));
+        String label = options.getOrDefault("label", "run");
+        List<String> terms = options.containsKey("terms")
+            ? Arrays.asList(options.get("terms").split(","))
+            : DEFAULT_TERMS;
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(require(options, "url"));
+            dataSource.setUsername(options.getOrDefault("user", "postgres"));
+            dataSource.setPassword(options.getOrDefault("password", ""));
+            dataSource.setMaximumPoolSize(1);
+
+            EntityManagerFactory entityManagerFactory = entityManagerFactory(dataSource);
+            MemberSearchRepositoryImpl repository = new MemberSearchRepositoryImpl();
+            ReflectionTestUtils.setField(repository, "entityManager",
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+            // The harness reports every query itself
+            ReflectionTestUtils.setField(repository, "slowQueryThreshold", Duration.ofDays(1));
+
+            long members = countMembers(entityManagerFactory);
+            for (String term : terms) {
+                for (int i = 0; i < warmup; i++) {
+                    repository.searchMembers(term, Double.MAX_VALUE, 0, size);
+                }
+                long[] latencies = new long[iterations];
+                int rows = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    List<MemberSearchResult> results = repository.searchMembers(term, Double.MAX_VALUE, 0, size);
+                    latencies[i] = System.nanoTime() - start;
+                    rows = results.size();
+                }
+                Arrays.sort(latencies);
+                System.out.printf("{\"label\":\"%s\",\"members\":%d,\"term\":\"%s\",\"rows\":%d,\"iterations\":%d,"
+                        + "\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                    label, members, term, rows, iterations,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    iterations > 0 ? latencies[iterations - 1] / 1e6 : 0.0);
+            }
+            entityManagerFactory.close();
+        }
+    }
+
+    private static EntityManagerFactory entityManagerFactory(HikariDataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        // The search is a native query read as tuples, so no entity has to be mapped
+        factory.setManagedTypes(PersistenceManagedTypes.of(List.of(), List.of()));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static long countMembers(EntityManagerFactory entityManagerFactory) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM members").getSingleResult()).longValue();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int split = arg.indexOf('=');
+                options.put(arg.substring(2, split), arg.substring(split + 1));
+            }
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+}
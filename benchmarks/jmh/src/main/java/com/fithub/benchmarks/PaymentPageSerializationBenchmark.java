@@ -0,0 +1,98 @@
+package com.fithub.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fithub.dto.PaymentDTO;
+import com.fithub.model.Member;
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code Page<Payment>} with its members, and of the
+ * {@code Page<PaymentDTO>} the payment listing maps it to before writing. The mapper is
+ * configured like Spring Boot's default one.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar PaymentPageSerializationBenchmark -rf json -rff payment-page.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PaymentPageSerializationBenchmark {
+    private static final long SEED = 42L;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Payment> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        PaymentType[] types = PaymentType.values();
+        PaymentStatus[] statuses = PaymentStatus.values();
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        List<Payment> payments = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Member member = Member.builder()
+                .id((long) i + 1)
+                .name("Member " + i)
+                .email("member" + i + "@fithub.test")
+                .phone("+1555" + (1_000_000 + random.nextInt(9_000_000)))
+                .membershipType(MembershipType.values()[random.nextInt(MembershipType.values().length)])
+                .status(MemberStatus.ACTIVE)
+                .joinDate(today.minusDays(random.nextInt(1_000)))
+                .membershipExpiry(today.plusDays(random.nextInt(365)))
+                .totalVisits(random.nextInt(500))
+                .build();
+            LocalDate dueDate = today.plusDays(random.nextInt(-30, 30));
+            payments.add(Payment.builder()
+                .id((long) i + 1)
+                .member(member)
+                .amount(BigDecimal.valueOf(random.nextInt(2_000, 20_000), 2))
+                .dueDate(dueDate)
+                .paymentDate(random.nextBoolean() ? dueDate.minusDays(random.nextInt(5)) : null)
+                .status(statuses[random.nextInt(statuses.length)])
+                .type(types[random.nextInt(types.length)])
+                .description("Payment " + i)
+                .recurring(random.nextBoolean())
+                .recurrenceInterval("MONTHLY")
+                .billingPeriod(dueDate.toString().substring(0, 7))
+                .build());
+        }
+        page = new PageImpl<>(payments, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] dtos() throws Exception {
+        return objectMapper.writeValueAsBytes(page.map(PaymentDTO::from));
+    }
+}
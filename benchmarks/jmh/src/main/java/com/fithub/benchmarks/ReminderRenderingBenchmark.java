@@ -0,0 +1,123 @@
+package com.fithub.benchmarks;
+
+import com.fithub.model.Member;
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import com.fithub.model.ReminderType;
+import com.fithub.service.EmailTransport;
+import com.fithub.service.ReminderChannelMetrics;
+import com.fithub.service.ReminderService;
+import com.fithub.service.ReminderTemplateEngine;
+import com.fithub.service.WhatsAppTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building one reminder in {@link ReminderService}: template lookup, value formatting and, for
+ * email, the MIME message. The transports keep the last message instead of sending it, so SMTP
+ * and Twilio are not part of the number.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar ReminderRenderingBenchmark -rf json -rff reminders.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class ReminderRenderingBenchmark {
+
+    @Param({"EMAIL", "WHATSAPP"})
+    public ReminderType channel;
+
+    private ReminderService reminderService;
+    private CapturingEmailTransport emailTransport;
+    private CapturingWhatsAppTransport whatsAppTransport;
+    private Member member;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        ReminderChannelMetrics metrics = new ReminderChannelMetrics(new SimpleMeterRegistry());
+        emailTransport = new CapturingEmailTransport(metrics);
+        whatsAppTransport = new CapturingWhatsAppTransport(metrics);
+        // Built-in templates only; the settings repository is used for overrides on reload
+        ReminderTemplateEngine templateEngine = new ReminderTemplateEngine(null, "en");
+        reminderService = new ReminderService(emailTransport, whatsAppTransport, templateEngine, metrics);
+        ReflectionTestUtils.setField(reminderService, "fromEmail", "reminders@fithub.test");
+
+        member = Member.builder()
+            .id(1L)
+            .name("Alex Morgan")
+            .email("alex.morgan@fithub.test")
+            .phone("+15550100")
+            .membershipType(MembershipType.PREMIUM)
+            .status(MemberStatus.ACTIVE)
+            .joinDate(LocalDate.of(2023, 1, 15))
+            .membershipExpiry(LocalDate.now().plusDays(7))
+            .build();
+        payment = Payment.builder()
+            .id(1L)
+            .member(member)
+            .amount(new BigDecimal("79.99"))
+            .dueDate(LocalDate.now().plusDays(3))
+            .status(PaymentStatus.PENDING)
+            .type(PaymentType.MONTHLY_MEMBERSHIP)
+            .description("Monthly membership")
+            .build();
+    }
+
+    @Benchmark
+    public Object membershipExpiration() {
+        reminderService.sendMembershipExpirationReminder(member, channel, 7);
+        return lastMessage();
+    }
+
+    @Benchmark
+    public Object paymentDue() {
+        reminderService.sendPaymentReminder(payment, channel);
+        return lastMessage();
+    }
+
+    private Object lastMessage() {
+        return channel == ReminderType.EMAIL ? emailTransport.last : whatsAppTransport.last;
+    }
+
+    private static class CapturingEmailTransport extends EmailTransport {
+        MimeMessage last;
+
+        CapturingEmailTransport(ReminderChannelMetrics metrics) {
+            super(new JavaMailSenderImpl(), metrics, 1, 1, Duration.ofMinutes(1));
+        }
+
+        @Override
+        public void send(MimeMessage message) {
+            last = message;
+        }
+    }
+
+    private static class CapturingWhatsAppTransport extends WhatsAppTransport {
+        String last;
+
+        CapturingWhatsAppTransport(ReminderChannelMetrics metrics) {
+            super(metrics, "AC00000000000000000000000000000000", "unused", "+15550000", 1, "");
+        }
+
+        @Override
+        public void send(String toNumber, String body, URI mediaUrl) {
+            last = body;
+        }
+    }
+}
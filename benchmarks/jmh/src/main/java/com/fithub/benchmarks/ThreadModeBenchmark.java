@@ -0,0 +1,78 @@
+package com.fithub.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-per-thread handling of a blocking call (a Postgres query or an SMTP round trip,
+ * simulated with a sleep) on Tomcat's default 200 platform threads versus a virtual thread per
+ * request. {@code pinned=true} blocks inside a {@code synchronized} section, which keeps the
+ * virtual thread on its carrier and shows what an unfixed pinning site costs.
+ *
+ * <p>Throughput and the sampled p99 come from the same run:
+ * {@code java -jar jmh/target/benchmarks.jar ThreadModeBenchmark -rf json -rff thread-mode.json}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean pinned;
+
+    @Param({"20"})
+    public int blockingMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(mode)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) throws Exception {
+        blackhole.consume(executor.submit(this::handle).get());
+    }
+
+    private long handle() throws InterruptedException {
+        if (pinned) {
+            // A monitor per request: no contention, only the pinning effect
+            Object monitor = new Object();
+            synchronized (monitor) {
+                Thread.sleep(blockingMillis);
+            }
+        } else {
+            Thread.sleep(blockingMillis);
+        }
+        return serialize();
+    }
+
+    // Stands in for the CPU part of a request, e.g. mapping and writing the JSON response
+    private long serialize() {
+        long hash = 17;
+        for (int i = 0; i < 2_000; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash;
+    }
+}
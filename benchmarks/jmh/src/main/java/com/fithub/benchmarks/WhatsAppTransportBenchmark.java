@@ -0,0 +1,75 @@
+package com.fithub.benchmarks;
+
+import com.fithub.service.ReminderChannelMetrics;
+import com.fithub.service.WhatsAppTransport;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@link WhatsAppTransport#send} against a local stub of the Twilio Messages API, pointed to
+ * with {@code reminders.transport.twilio.base-url}. The stub answers at once, so the number is
+ * the client's request building, pooled HTTP round trip and response parsing, without Twilio's
+ * own latency. Run it with several threads to see the connection pool at work.
+ *
+ * <p>{@code java -jar jmh/target/benchmarks.jar WhatsAppTransportBenchmark -t 8 -rf json -rff whatsapp.json}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Without nodelay the stub's separate header and body writes wait on delayed ACKs, about 40 ms each
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dsun.net.httpserver.nodelay=true"})
+@State(Scope.Benchmark)
+public class WhatsAppTransportBenchmark {
+    private static final String ACCOUNT_SID = "AC00000000000000000000000000000000";
+    private static final byte[] MESSAGE = ("{\"sid\":\"SM00000000000000000000000000000000\","
+        + "\"account_sid\":\"" + ACCOUNT_SID + "\",\"status\":\"queued\",\"num_media\":\"1\"}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"8"})
+    public int maxConnections;
+
+    private HttpServer server;
+    private WhatsAppTransport transport;
+    private URI mediaUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+                body.readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(201, MESSAGE.length);
+                out.write(MESSAGE);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(maxConnections));
+        server.start();
+
+        transport = new WhatsAppTransport(new ReminderChannelMetrics(new SimpleMeterRegistry()),
+            ACCOUNT_SID, "unused", "+15550000", maxConnections,
+            "http://127.0.0.1:" + server.getAddress().getPort());
+        mediaUrl = URI.create("https://fithub.test/reminders/card.png");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void send() {
+        transport.send("+15550100", "Your membership expires in 7 days.", mediaUrl);
+    }
+}
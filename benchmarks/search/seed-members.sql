@@ -0,0 +1,40 @@
+-- Loads synthetic members for MemberSearchHarness. Run against a database the API has started on
+-- once, so the members table and the search columns and indexes from 003-member-search.sql exist:
+--   psql -v members=1000000 -f benchmarks/search/seed-members.sql <database>
+-- Names, emails and phones come from fixed lists and a fixed seed, so every load is the same.
+\if :{?members}
+\else
+\set members 1000000
+\endif
+
+SELECT setseed(0.42);
+
+-- Name frequencies are skewed like real ones: a few common names and a long tail of rare ones
+INSERT INTO members (name, email, phone, membership_type, status, join_date, membership_expiry)
+SELECT n.firsts[g.first] || ' ' || n.lasts[g.last],
+       lower(n.firsts[g.first] || '.' || n.lasts[g.last] || '.' || g.i) || '@' ||
+           (ARRAY['gmail.com', 'yahoo.com', 'outlook.com', 'fithub.test', 'mail.example'])[1 + g.i % 5],
+       '+1 (' || (200 + g.i % 800) || ') 555-' || lpad((g.i % 10000)::TEXT, 4, '0'),
+       (ARRAY['BASIC', 'BASIC', 'BASIC', 'BASIC', 'BASIC', 'PREMIUM', 'PREMIUM', 'PREMIUM', 'PREMIUM', 'PLATINUM'])[1 + g.i % 10],
+       (ARRAY['ACTIVE', 'ACTIVE', 'ACTIVE', 'ACTIVE', 'INACTIVE', 'SUSPENDED'])[1 + g.i % 6],
+       DATE '2020-01-01' + (g.i % 2000),
+       DATE '2020-01-01' + (g.i % 2000) + 365
+FROM (
+    SELECT i, 1 + floor(50 * power(random(), 2))::INT AS first, 1 + floor(60 * power(random(), 2))::INT AS last
+    FROM generate_series(1, :members) AS i
+) g
+CROSS JOIN (SELECT
+    ARRAY['James', 'Mary', 'John', 'Patricia', 'Robert', 'Jennifer', 'Michael', 'Linda', 'William', 'Elizabeth',
+          'David', 'Barbara', 'Richard', 'Susan', 'Joseph', 'Jessica', 'Thomas', 'Sarah', 'Charles', 'Karen',
+          'Daniel', 'Nancy', 'Matthew', 'Lisa', 'Anthony', 'Betty', 'Mark', 'Margaret', 'Donald', 'Sandra',
+          'Maria', 'Jose', 'Ana', 'Luis', 'Carmen', 'Juan', 'Sofia', 'Carlos', 'Lucia', 'Miguel',
+          'Wei', 'Mei', 'Hiroshi', 'Yuki', 'Aarav', 'Priya', 'Olga', 'Ivan', 'Fatima', 'Omar'] AS firsts,
+    ARRAY['Smith', 'Johnson', 'Williams', 'Brown', 'Jones', 'Garcia', 'Miller', 'Davis', 'Rodriguez', 'Martinez',
+          'Hernandez', 'Lopez', 'Gonzalez', 'Wilson', 'Anderson', 'Thomas', 'Taylor', 'Moore', 'Jackson', 'Martin',
+          'Lee', 'Perez', 'Thompson', 'White', 'Harris', 'Sanchez', 'Clark', 'Ramirez', 'Lewis', 'Robinson',
+          'Walker', 'Young', 'Allen', 'King', 'Wright', 'Scott', 'Torres', 'Nguyen', 'Hill', 'Flores',
+          'Chen', 'Wang', 'Tanaka', 'Sato', 'Patel', 'Sharma', 'Ivanova', 'Petrov', 'Haddad', 'Khan',
+          'Kowalski', 'Novak', 'Jensen', 'Larsen', 'Muller', 'Schmidt', 'Rossi', 'Russo', 'Dubois', 'Moreau'] AS lasts
+) n;
+
+ANALYZE members;
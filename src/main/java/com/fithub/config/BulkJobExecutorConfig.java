@@ -0,0 +1,44 @@
+package com.fithub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BulkJobExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentExportExecutor(
+            @Value("${exports.executor.pool-size:2}") int poolSize,
+            @Value("${exports.executor.queue-capacity:50}") int queueCapacity) {
+        return jobExecutor("payment-export-", poolSize, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentImportExecutor(
+            @Value("${imports.executor.pool-size:2}") int poolSize,
+            @Value("${imports.executor.queue-capacity:20}") int queueCapacity) {
+        return jobExecutor("payment-import-", poolSize, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor billingExecutor(
+            @Value("${billing.recurring.parallelism:4}") int parallelism) {
+        return jobExecutor("billing-", parallelism, parallelism);
+    }
+
+    private ThreadPoolTaskExecutor jobExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // Jobs are long running; reject instead of running one on the request thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
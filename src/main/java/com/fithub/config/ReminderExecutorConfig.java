@@ -0,0 +1,53 @@
+package com.fithub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ReminderExecutorConfig {
+    private final boolean virtualThreads;
+
+    public ReminderExecutorConfig(Environment environment) {
+        // spring.threads.virtual.enabled, and only when running on Java 21 or later
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor emailReminderExecutor(
+            @Value("${reminders.executor.email.pool-size:8}") int poolSize,
+            @Value("${reminders.executor.email.queue-capacity:500}") int queueCapacity) {
+        return channelExecutor("reminder-email-", poolSize, queueCapacity);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor whatsappReminderExecutor(
+            @Value("${reminders.executor.whatsapp.pool-size:4}") int poolSize,
+            @Value("${reminders.executor.whatsapp.queue-capacity:500}") int queueCapacity) {
+        return channelExecutor("reminder-whatsapp-", poolSize, queueCapacity);
+    }
+
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            // Same bounded pool and queue, so the dispatcher's capacity check still holds, but a
+            // worker blocked on SMTP or Twilio no longer holds a carrier thread
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // A full queue makes the sweep thread send the message itself, which throttles paging
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
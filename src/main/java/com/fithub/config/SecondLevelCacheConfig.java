@@ -0,0 +1,69 @@
+package com.fithub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level and query caches. Each region's
+ * size and time-to-live come from {@code cache.l2.regions.<region>.maximum-size} and {@code .ttl}.
+ *
+ * <p>The regions live in each JVM and are only invalidated by writes made on the same node, so
+ * with several nodes the TTL is how long another node may serve a row after it changed. Users are
+ * not cached for that reason: a changed password or role has to apply everywhere at once. Members
+ * keep a short TTL; a deployment that needs them consistent across nodes should swap in a
+ * clustered JCache provider rather than raise it.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String MEMBER_REGION = "member";
+    public static final String SETTING_REGION = "setting";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    public static final List<String> ENTITY_REGIONS = List.of(MEMBER_REGION, SETTING_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching
+            .getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(environment, region, 10_000, Duration.ofMinutes(10)));
+        }
+        cacheManager.createCache(QUERY_RESULTS_REGION,
+            regionConfiguration(environment, QUERY_RESULTS_REGION, 10_000, Duration.ofSeconds(30)));
+        // Hibernate checks cached query results against these; they must never be evicted early
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(
+            Environment environment, String region, long defaultMaximumSize, Duration defaultTtl) {
+        String prefix = "cache.l2.regions." + region + ".";
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(
+            environment.getProperty(prefix + "maximum-size", Long.class, defaultMaximumSize)));
+        configuration.setExpireAfterWrite(OptionalLong.of(
+            environment.getProperty(prefix + "ttl", Duration.class, defaultTtl).toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
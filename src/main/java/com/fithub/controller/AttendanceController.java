@@ -0,0 +1,56 @@
+package com.fithub.controller;
+
+import com.fithub.dto.AttendanceRequest;
+import com.fithub.dto.AttendanceResult;
+import com.fithub.model.Attendance;
+import com.fithub.service.AttendanceService;
+import com.fithub.service.AttendanceWriter;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+public class AttendanceController {
+    private final AttendanceService attendanceService;
+    private final AttendanceWriter attendanceWriter;
+
+    @PostMapping("/check-in")
+    public ResponseEntity<AttendanceResult> checkIn(@Valid @RequestBody AttendanceRequest request) {
+        return toResponse(attendanceService.checkIn(
+            request.getMemberId(), request.getFacilityArea(), request.getCheckInMethod()));
+    }
+
+    @PostMapping("/check-out")
+    public ResponseEntity<AttendanceResult> checkOut(@Valid @RequestBody AttendanceRequest request) {
+        return toResponse(attendanceService.checkOut(request.getMemberId()));
+    }
+
+    @GetMapping("/members/{memberId}")
+    public ResponseEntity<Page<Attendance>> getMemberAttendance(
+            @PathVariable Long memberId,
+            Pageable pageable) {
+        return ResponseEntity.ok(attendanceService.getMemberAttendance(memberId, pageable));
+    }
+
+    @GetMapping("/writer-stats")
+    public ResponseEntity<Map<String, Number>> getWriterStats() {
+        Map<String, Number> stats = attendanceWriter.snapshot();
+        stats.put("openVisits", attendanceService.getOpenVisitCount());
+        return ResponseEntity.ok(stats);
+    }
+
+    private ResponseEntity<AttendanceResult> toResponse(AttendanceResult result) {
+        if (result.granted()) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(result);
+    }
+}
@@ -0,0 +1,61 @@
+package com.fithub.controller;
+
+import com.fithub.config.SecondLevelCacheConfig;
+import com.fithub.security.JwtTokenCache;
+import com.fithub.security.UserPrincipalCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private final JwtTokenCache tokenCache;
+    private final UserPrincipalCache principalCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Map<String, Number>>> getCacheStats() {
+        Map<String, Map<String, Number>> stats = new LinkedHashMap<>();
+        stats.put("jwtTokens", toMap(tokenCache.stats(), tokenCache.size()));
+        stats.put("userPrincipals", toMap(principalCache.stats(), principalCache.size()));
+
+        Statistics hibernateStats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : SecondLevelCacheConfig.ENTITY_REGIONS) {
+            CacheRegionStatistics regionStats = hibernateStats.getDomainDataRegionStatistics(region);
+            stats.put("l2." + region, toMap(regionStats.getHitCount(), regionStats.getMissCount(),
+                regionStats.getPutCount()));
+        }
+        stats.put("l2.queries", toMap(hibernateStats.getQueryCacheHitCount(),
+            hibernateStats.getQueryCacheMissCount(), hibernateStats.getQueryCachePutCount()));
+        return ResponseEntity.ok(stats);
+    }
+
+    private Map<String, Number> toMap(long hits, long misses, long puts) {
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("puts", puts);
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        return stats;
+    }
+
+    private Map<String, Number> toMap(CacheStats cacheStats, long size) {
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRatio", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        return stats;
+    }
+}
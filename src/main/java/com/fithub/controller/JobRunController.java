@@ -0,0 +1,55 @@
+package com.fithub.controller;
+
+import com.fithub.dto.JobPartitionStatus;
+import com.fithub.model.JobRun;
+import com.fithub.service.JobCoordinator;
+import com.fithub.service.JobRunService;
+import com.fithub.service.OverduePaymentService;
+import com.fithub.service.RecurringBillingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobRunController {
+    private final JobRunService jobRunService;
+    private final OverduePaymentService overduePaymentService;
+    private final RecurringBillingService recurringBillingService;
+    private final JobCoordinator jobCoordinator;
+
+    @GetMapping("/runs")
+    public ResponseEntity<Page<JobRun>> getRuns(
+            @RequestParam(required = false) String job,
+            Pageable pageable) {
+        return ResponseEntity.ok(jobRunService.getRuns(job, pageable));
+    }
+
+    @GetMapping("/partitions")
+    public ResponseEntity<List<JobPartitionStatus>> getPartitions(
+            @RequestParam String job,
+            @RequestParam String runKey) {
+        return ResponseEntity.ok(jobCoordinator.getPartitions(job, runKey));
+    }
+
+    @PostMapping("/overdue-payments")
+    public ResponseEntity<Void> runOverduePayments() {
+        overduePaymentService.markOverduePayments();
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/recurring-billing")
+    public ResponseEntity<RecurringBillingService.BillingResult> runRecurringBilling(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        // An explicit request rescans every range, picking up members who joined since the last run
+        return ResponseEntity.ok(recurringBillingService.generate(
+            period != null ? period : YearMonth.now().plusMonths(1), true));
+    }
+}
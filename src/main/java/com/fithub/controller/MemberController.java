@@ -1,7 +1,10 @@
 package com.fithub.controller;
 
+import com.fithub.dto.BulkMemberResponse;
+import com.fithub.dto.CursorPage;
 import com.fithub.dto.MemberDTO;
-import com.fithub.model.Member;
+import com.fithub.dto.MemberSearchResult;
+import com.fithub.service.MemberBulkService;
 import com.fithub.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -9,29 +12,53 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/members")
 @RequiredArgsConstructor
 public class MemberController {
     private final MemberService memberService;
+    private final MemberBulkService memberBulkService;
 
     @GetMapping
-    public ResponseEntity<Page<Member>> getAllMembers(Pageable pageable) {
+    public ResponseEntity<Page<MemberDTO>> getAllMembers(Pageable pageable) {
         return ResponseEntity.ok(memberService.getAllMembers(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<MemberDTO>> scrollMembers(
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(memberService.scrollMembers(sortBy, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<MemberSearchResult>> searchMembers(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(memberService.searchMembers(query, cursor, size));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Member> getMemberById(@PathVariable Long id) {
-        return ResponseEntity.ok(memberService.getMemberById(id));
+    public ResponseEntity<MemberDTO> getMemberById(@PathVariable Long id) {
+        return ResponseEntity.ok(memberService.getMember(id));
     }
 
     @PostMapping
-    public ResponseEntity<Member> createMember(@RequestBody MemberDTO memberDTO) {
+    public ResponseEntity<MemberDTO> createMember(@RequestBody MemberDTO memberDTO) {
         return ResponseEntity.ok(memberService.createMember(memberDTO));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkMemberResponse> upsertMembers(@RequestBody List<MemberDTO> members) {
+        return ResponseEntity.ok(memberBulkService.upsertMembers(members));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Member> updateMember(
+    public ResponseEntity<MemberDTO> updateMember(
             @PathVariable Long id,
             @RequestBody MemberDTO memberDTO) {
         return ResponseEntity.ok(memberService.updateMember(id, memberDTO));
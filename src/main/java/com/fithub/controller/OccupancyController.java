@@ -0,0 +1,29 @@
+package com.fithub.controller;
+
+import com.fithub.service.OccupancyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/occupancy")
+@RequiredArgsConstructor
+public class OccupancyController {
+    private final OccupancyService occupancyService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Long>> getOccupancy() {
+        return ResponseEntity.ok(occupancyService.snapshot());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOccupancy() {
+        return occupancyService.subscribe();
+    }
+}
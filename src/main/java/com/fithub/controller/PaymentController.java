@@ -1,14 +1,20 @@
 package com.fithub.controller;
 
+import com.fithub.dto.CursorPage;
 import com.fithub.dto.PaymentDTO;
-import com.fithub.model.Payment;
+import com.fithub.dto.PaymentSearchCriteria;
+import com.fithub.dto.PaymentStats;
+import com.fithub.dto.PaymentSummary;
 import com.fithub.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
@@ -16,29 +22,54 @@ public class PaymentController {
     private final PaymentService paymentService;
 
     @GetMapping
-    public ResponseEntity<Page<Payment>> getAllPayments(Pageable pageable) {
+    public ResponseEntity<Page<PaymentDTO>> getAllPayments(Pageable pageable) {
         return ResponseEntity.ok(paymentService.getAllPayments(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<PaymentDTO>> scrollPayments(
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(paymentService.scrollPayments(sortBy, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<PaymentSummary>> searchPayments(
+            @ModelAttribute PaymentSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(paymentService.searchPayments(criteria, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<PaymentStats> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(paymentService.getStats(start, end));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Payment> getPaymentById(@PathVariable Long id) {
-        return ResponseEntity.ok(paymentService.getPaymentById(id));
+    public ResponseEntity<PaymentDTO> getPaymentById(@PathVariable Long id) {
+        return ResponseEntity.ok(paymentService.getPayment(id));
     }
 
     @GetMapping("/member/{memberId}")
-    public ResponseEntity<Page<Payment>> getMemberPayments(
+    public ResponseEntity<Page<PaymentDTO>> getMemberPayments(
             @PathVariable Long memberId,
             Pageable pageable) {
         return ResponseEntity.ok(paymentService.getMemberPayments(memberId, pageable));
     }
 
     @PostMapping
-    public ResponseEntity<Payment> createPayment(@RequestBody PaymentDTO paymentDTO) {
+    public ResponseEntity<PaymentDTO> createPayment(@RequestBody PaymentDTO paymentDTO) {
         return ResponseEntity.ok(paymentService.createPayment(paymentDTO));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Payment> updatePayment(
+    public ResponseEntity<PaymentDTO> updatePayment(
             @PathVariable Long id,
             @RequestBody PaymentDTO paymentDTO) {
         return ResponseEntity.ok(paymentService.updatePayment(id, paymentDTO));
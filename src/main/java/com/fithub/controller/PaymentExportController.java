@@ -0,0 +1,66 @@
+package com.fithub.controller;
+
+import com.fithub.model.ExportFormat;
+import com.fithub.model.PaymentExport;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.User;
+import com.fithub.service.PaymentExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/payments/exports")
+@RequiredArgsConstructor
+public class PaymentExportController {
+    private static final MediaType XLSX =
+        MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final PaymentExportService exportService;
+
+    @PostMapping
+    public ResponseEntity<PaymentExport> requestExport(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) PaymentStatus status,
+            @AuthenticationPrincipal User user) {
+        PaymentExport export = exportService.requestExport(format, from, to, status,
+            user != null ? user.getId() : null);
+        return ResponseEntity.accepted().body(export);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<PaymentExport>> getExports(Pageable pageable) {
+        return ResponseEntity.ok(exportService.getExports(pageable));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PaymentExport> getExport(@PathVariable Long id) {
+        return ResponseEntity.ok(exportService.getExport(id));
+    }
+
+    // Returning a Resource lets Spring answer Range requests with 206 partial content
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable Long id) {
+        PaymentExport export = exportService.getExport(id);
+        Resource file = new FileSystemResource(exportService.getExportFile(export));
+        return ResponseEntity.ok()
+            .contentType(export.getFormat() == ExportFormat.XLSX ? XLSX : new MediaType("text", "csv"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(export.getFileName()).build().toString())
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .body(file);
+    }
+}
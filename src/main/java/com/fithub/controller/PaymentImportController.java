@@ -0,0 +1,39 @@
+package com.fithub.controller;
+
+import com.fithub.model.PaymentImport;
+import com.fithub.model.User;
+import com.fithub.service.PaymentImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/payments/imports")
+@RequiredArgsConstructor
+public class PaymentImportController {
+    private final PaymentImportService importService;
+
+    @PostMapping
+    public ResponseEntity<PaymentImport> requestImport(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal User user) throws IOException {
+        PaymentImport paymentImport = importService.requestImport(file, user != null ? user.getId() : null);
+        return ResponseEntity.accepted().body(paymentImport);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<PaymentImport>> getImports(Pageable pageable) {
+        return ResponseEntity.ok(importService.getImports(pageable));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PaymentImport> getImport(@PathVariable Long id) {
+        return ResponseEntity.ok(importService.getImport(id));
+    }
+}
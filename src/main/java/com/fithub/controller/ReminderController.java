@@ -3,24 +3,40 @@ package com.fithub.controller;
 import com.fithub.model.Payment;
 import com.fithub.model.ReminderType;
 import com.fithub.service.PaymentService;
+import com.fithub.service.ReminderChannelMetrics;
 import com.fithub.service.ReminderService;
+import com.fithub.service.ReminderTemplateEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/reminders")
 @RequiredArgsConstructor
 public class ReminderController {
     private final ReminderService reminderService;
     private final PaymentService paymentService;
+    private final ReminderChannelMetrics channelMetrics;
+    private final ReminderTemplateEngine templateEngine;
 
     @PostMapping("/{paymentId}/{type}")
     public ResponseEntity<Void> sendReminder(
             @PathVariable Long paymentId,
             @PathVariable ReminderType type) {
         Payment payment = paymentService.getPaymentById(paymentId);
-        reminderService.sendReminder(payment, type);
+        reminderService.sendPaymentReminder(payment, type);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/channel-metrics")
+    public ResponseEntity<Map<String, Map<String, Map<String, Number>>>> getChannelMetrics() {
+        return ResponseEntity.ok(channelMetrics.snapshot());
+    }
+
+    @PostMapping("/templates/reload")
+    public ResponseEntity<Map<String, Integer>> reloadTemplates() {
+        return ResponseEntity.ok(Map.of("overrides", templateEngine.reload()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.fithub.controller;
+
+import com.fithub.security.AuthRateLimitFilter;
+import com.fithub.security.BoundedPasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/security")
+@RequiredArgsConstructor
+public class SecurityStatsController {
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final AuthRateLimitFilter rateLimitFilter;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSecurityStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("passwordHashing", passwordEncoder.snapshot());
+        stats.put("authRateLimit", rateLimitFilter.snapshot());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fithub.controller;
+
+import com.fithub.service.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/threads")
+@RequiredArgsConstructor
+public class ThreadStatsController {
+    private final Environment environment;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getThreadStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", Threading.VIRTUAL.isActive(environment));
+        stats.put("javaVersion", Runtime.version().toString());
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        stats.put("pinning", monitor != null ? monitor.snapshot() : Map.of());
+        return ResponseEntity.ok(stats);
+    }
+}
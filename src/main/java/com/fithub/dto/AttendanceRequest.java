@@ -0,0 +1,23 @@
+package com.fithub.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendanceRequest {
+    @NotNull(message = "Member id is required")
+    private Long memberId;
+
+    @Size(max = 50, message = "Facility area must be at most 50 characters")
+    private String facilityArea; // gym, pool, class, etc.
+
+    @Size(max = 20, message = "Check-in method must be at most 20 characters")
+    private String checkInMethod; // card, biometric, manual
+}
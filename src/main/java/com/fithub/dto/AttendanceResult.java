@@ -0,0 +1,25 @@
+package com.fithub.dto;
+
+import java.time.LocalDateTime;
+
+public record AttendanceResult(
+    boolean granted,
+    String reason,
+    Long memberId,
+    String facilityArea,
+    LocalDateTime timestamp
+) {
+    public static final String MEMBER_NOT_FOUND = "MEMBER_NOT_FOUND";
+    public static final String MEMBERSHIP_INACTIVE = "MEMBERSHIP_INACTIVE";
+    public static final String MEMBERSHIP_EXPIRED = "MEMBERSHIP_EXPIRED";
+    public static final String ALREADY_CHECKED_IN = "ALREADY_CHECKED_IN";
+    public static final String NOT_CHECKED_IN = "NOT_CHECKED_IN";
+
+    public static AttendanceResult granted(Long memberId, String facilityArea, LocalDateTime timestamp) {
+        return new AttendanceResult(true, null, memberId, facilityArea, timestamp);
+    }
+
+    public static AttendanceResult denied(Long memberId, String reason) {
+        return new AttendanceResult(false, reason, memberId, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fithub.dto;
+
+import java.util.List;
+
+public record BulkMemberResponse(
+    int created,
+    int updated,
+    int failed,
+    List<BulkMemberResult> results
+) {
+}
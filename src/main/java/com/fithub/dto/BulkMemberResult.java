@@ -0,0 +1,19 @@
+package com.fithub.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a bulk member request, in request order.
+ */
+public record BulkMemberResult(
+    int index,
+    Long id,
+    String status,
+    List<String> errors
+) {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String INVALID = "INVALID";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FAILED = "FAILED";
+}
@@ -0,0 +1,59 @@
+package com.fithub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque token to pass back
+ * for the following page and is {@code null} on the last page. A {@code null} cursor part is
+ * written as an empty string.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+    private static final String SEPARATOR = "|";
+
+    public static String encodeCursor(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            if (parts[i] != null) {
+                raw.append(parts[i]);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decodeCursor(String cursor, int expectedParts) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+        if (parts.length != expectedParts) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        return parts;
+    }
+
+    public static long parseId(String part) {
+        try {
+            return Long.parseLong(part);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    public static LocalDate parseDate(String part) {
+        try {
+            return LocalDate.parse(part);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fithub.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown for a cursor that does not decode or was issued for another listing or sort order;
+ * resolved to a 400 since the client sent it.
+ */
+public class InvalidCursorException extends ResponseStatusException {
+    public InvalidCursorException(String reason) {
+        super(HttpStatus.BAD_REQUEST, reason);
+    }
+
+    public InvalidCursorException(String reason, Throwable cause) {
+        super(HttpStatus.BAD_REQUEST, reason, cause);
+    }
+}
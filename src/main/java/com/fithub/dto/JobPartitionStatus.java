@@ -0,0 +1,19 @@
+package com.fithub.dto;
+
+import java.time.LocalDateTime;
+
+public record JobPartitionStatus(
+    String jobName,
+    String runKey,
+    int partitionNo,
+    long fromId,
+    long toId,
+    String status,
+    String owner,
+    LocalDateTime leaseUntil,
+    int attempts,
+    long rowsProcessed,
+    String lastError,
+    LocalDateTime completedAt
+) {
+}
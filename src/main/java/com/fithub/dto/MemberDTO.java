@@ -1,7 +1,9 @@
 package com.fithub.dto;
 
+import com.fithub.model.Member;
 import com.fithub.model.MembershipType;
 import com.fithub.model.MemberStatus;
+import com.fithub.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -71,6 +73,31 @@ public class MemberDTO {
     // For response only - nested user information
     private UserDTO user;
 
+    /**
+     * Builds the response shape for a member. The member's user must already be loaded
+     * (or absent) since it is read here.
+     */
+    public static MemberDTO from(Member member) {
+        User user = member.getUser();
+        return MemberDTO.builder()
+            .id(member.getId())
+            .name(member.getName())
+            .email(member.getEmail())
+            .phone(member.getPhone())
+            .membershipType(member.getMembershipType())
+            .status(member.getStatus())
+            .joinDate(member.getJoinDate())
+            .membershipExpiry(member.getMembershipExpiry())
+            .photo(member.getPhoto())
+            .totalVisits(member.getTotalVisits())
+            .lastVisitDate(member.getLastVisitDate() != null ? member.getLastVisitDate().toLocalDate() : null)
+            .user(user != null
+                ? new UserDTO(user.getId(), user.getName(), user.getEmail(),
+                    user.getRole() != null ? user.getRole().name() : null)
+                : null)
+            .build();
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,18 @@
+package com.fithub.dto;
+
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+
+import java.time.LocalDate;
+
+public record MemberSearchResult(
+    Long id,
+    String name,
+    String email,
+    String phone,
+    MembershipType membershipType,
+    MemberStatus status,
+    LocalDate membershipExpiry,
+    double rank
+) {
+}
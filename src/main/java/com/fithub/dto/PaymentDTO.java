@@ -1,5 +1,7 @@
 package com.fithub.dto;
 
+import com.fithub.model.Member;
+import com.fithub.model.Payment;
 import com.fithub.model.PaymentStatus;
 import com.fithub.model.PaymentType;
 import lombok.AllArgsConstructor;
@@ -39,6 +41,11 @@ public class PaymentDTO {
     private PaymentType type;
     
     private String description;
+
+    // Set on payments created by recurring billing
+    private Boolean recurring;
+    private String recurrenceInterval;
+    private String billingPeriod;
     
     // Reminder settings
     private Boolean enableReminders;
@@ -47,6 +54,30 @@ public class PaymentDTO {
     
     // For response only
     private MemberDTO member;
+
+    /**
+     * Builds the response shape for a payment. The payment's member must already be loaded
+     * (or absent) since it is read here.
+     */
+    public static PaymentDTO from(Payment payment) {
+        Member member = payment.getMember();
+        return PaymentDTO.builder()
+            .id(payment.getId())
+            .memberId(member != null ? member.getId() : null)
+            .amount(payment.getAmount())
+            .dueDate(payment.getDueDate())
+            .paymentDate(payment.getPaymentDate())
+            .status(payment.getStatus())
+            .type(payment.getType())
+            .description(payment.getDescription())
+            .recurring(payment.getRecurring())
+            .recurrenceInterval(payment.getRecurrenceInterval())
+            .billingPeriod(payment.getBillingPeriod())
+            .member(member != null
+                ? new MemberDTO(member.getId(), member.getName(), member.getEmail(), member.getPhone())
+                : null)
+            .build();
+    }
     
     @Data
     @NoArgsConstructor
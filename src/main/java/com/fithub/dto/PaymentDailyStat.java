@@ -0,0 +1,13 @@
+package com.fithub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PaymentDailyStat(
+    LocalDate date,
+    String status,
+    String type,
+    long count,
+    BigDecimal total
+) {
+}
@@ -0,0 +1,33 @@
+package com.fithub.dto;
+
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSearchCriteria {
+    private Long memberId;
+    private PaymentStatus status;
+    private PaymentType type;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    // Free text matched against the payment description and the member's name/email
+    private String q;
+}
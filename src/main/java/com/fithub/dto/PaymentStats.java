@@ -0,0 +1,20 @@
+package com.fithub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard totals for payments due in {@code [from, to]}: revenue is PAID, outstanding is
+ * PENDING and overdue is OVERDUE.
+ */
+public record PaymentStats(
+    LocalDate from,
+    LocalDate to,
+    long paymentCount,
+    BigDecimal revenue,
+    BigDecimal outstanding,
+    BigDecimal overdue,
+    List<PaymentDailyStat> days
+) {
+}
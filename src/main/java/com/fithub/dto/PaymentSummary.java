@@ -0,0 +1,20 @@
+package com.fithub.dto;
+
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PaymentSummary(
+    Long id,
+    Long memberId,
+    String memberName,
+    BigDecimal amount,
+    LocalDate dueDate,
+    LocalDate paymentDate,
+    PaymentStatus status,
+    PaymentType type,
+    String description
+) {
+}
@@ -0,0 +1,44 @@
+package com.fithub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "attendance")
+public class Attendance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private LocalDateTime checkIn;
+
+    private LocalDateTime checkOut;
+
+    // Minutes between check-in and check-out
+    private Integer duration;
+
+    @Column(length = 50)
+    private String facilityArea;
+
+    @Column(length = 20)
+    private String checkInMethod;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package com.fithub.model;
+
+public enum ExportFormat {
+    CSV,
+    XLSX
+}
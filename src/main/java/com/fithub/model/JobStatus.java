@@ -0,0 +1,8 @@
+package com.fithub.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -14,6 +17,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Entity
 @Table(name = "members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 public class Member {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,7 +37,14 @@ public class Member {
     private LocalDate joinDate;
     private LocalDate membershipExpiry;
     private String photo;
+
+    // Maintained by the attendance writer, never by member updates
+    @Column(updatable = false, insertable = false)
+    private Integer totalVisits;
+
+    @Column(updatable = false, insertable = false)
+    private LocalDateTime lastVisitDate;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private User user;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.fithub.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -20,7 +20,7 @@ public class Payment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Member member;
     
     private BigDecimal amount;
@@ -34,4 +34,14 @@ public class Payment {
     private PaymentType type;
     
     private String description;
+
+    @Column(name = "is_recurring")
+    private Boolean recurring;
+
+    @Column(length = 20)
+    private String recurrenceInterval;
+
+    // yyyy-MM for generated dues; one per member and period
+    @Column(length = 7)
+    private String billingPeriod;
 }
\ No newline at end of file
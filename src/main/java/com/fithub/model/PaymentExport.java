@@ -0,0 +1,58 @@
+package com.fithub.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_exports")
+public class PaymentExport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    // Location on disk; clients download through downloadUrl
+    @JsonIgnore
+    private String filePath;
+
+    private Long exportedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExportFormat format;
+
+    private LocalDate dateRangeStart;
+    private LocalDate dateRangeEnd;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    // Rows written so far, updated while the export runs
+    private Integer totalRecords;
+    private Long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    private String downloadUrl;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
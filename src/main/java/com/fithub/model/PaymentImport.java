@@ -0,0 +1,48 @@
+package com.fithub.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_imports")
+public class PaymentImport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    // Uploaded file, removed once the import finishes
+    @JsonIgnore
+    private String filePath;
+
+    private Long importedBy;
+
+    // Records read so far; successful + failed once the import completes
+    private Integer totalRecords;
+    private Integer successfulRecords;
+    private Integer failedRecords;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorLog;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,39 @@
+package com.fithub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payment_reminders")
+public class PaymentReminder {
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long paymentId;
+    private Long memberId;
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    private ReminderType reminderType;
+
+    private LocalDateTime sentAt;
+    private String status;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.fithub.model;
+
+public enum ReminderKind {
+    MEMBERSHIP_EXPIRATION,
+    PAYMENT_DUE,
+    PAYMENT_OVERDUE
+}
@@ -0,0 +1,48 @@
+package com.fithub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "reminder_outbox")
+public class ReminderOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private ReminderKind kind;
+
+    @Enumerated(EnumType.STRING)
+    private ReminderType channel;
+
+    private Long memberId;
+    private Long paymentId;
+    private Integer daysRemaining;
+
+    // Identifies one logical reminder so re-running a sweep never enqueues it twice
+    @Column(unique = true, nullable = false)
+    private String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
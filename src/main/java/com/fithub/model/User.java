@@ -1,5 +1,7 @@
 package com.fithub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fithub.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +20,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +31,7 @@ public class User implements UserDetails {
     @Column(unique = true)
     private String email;
     
+    @JsonIgnore
     private String password;
     
     @Enumerated(EnumType.STRING)
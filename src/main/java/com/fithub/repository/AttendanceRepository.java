@@ -0,0 +1,12 @@
+package com.fithub.repository;
+
+import com.fithub.model.Attendance;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    Page<Attendance> findByMemberIdOrderByCheckInDesc(Long memberId, Pageable pageable);
+
+    long countByCheckOutIsNull();
+}
@@ -0,0 +1,12 @@
+package com.fithub.repository;
+
+import com.fithub.model.JobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+    Page<JobRun> findAllByOrderByIdDesc(Pageable pageable);
+
+    Page<JobRun> findByJobNameOrderByIdDesc(String jobName, Pageable pageable);
+}
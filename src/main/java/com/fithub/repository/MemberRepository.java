@@ -3,24 +3,57 @@ package com.fithub.repository;
 import com.fithub.model.Member;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberSearchRepository {
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Member> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Member> findWithUserById(Long id);
 
-public interface MemberRepository extends JpaRepository<Member, Long> {
     List<Member> findByMembershipExpiryBetween(LocalDate startDate, LocalDate endDate);
+
+    // Keyset page over the members expiring on one of the given dates, ordered by id, up to beforeId
+    @Query("SELECT m FROM Member m WHERE m.membershipExpiry IN :expiryDates " +
+           "AND m.id > :afterId AND m.id < :beforeId ORDER BY m.id")
+    List<Member> findByMembershipExpiryInAfterId(
+        @Param("expiryDates") Collection<LocalDate> expiryDates,
+        @Param("afterId") Long afterId,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
     
     @Query("SELECT m FROM Member m WHERE m.membershipExpiry <= :expiryDate AND m.status = 'active'")
     List<Member> findExpiringMemberships(@Param("expiryDate") LocalDate expiryDate);
     
     Page<Member> findByStatus(String status, Pageable pageable);
-    
-    @Query("SELECT m FROM Member m WHERE " +
-           "LOWER(m.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(m.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(m.phone) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Member> searchMembers(@Param("search") String search, Pageable pageable);
+
+    // Keyset pages for the cursor-based listing; none of them issue a count query
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.user WHERE m.id > :afterId ORDER BY m.id")
+    List<Member> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.user " +
+           "WHERE m.membershipExpiry > :afterExpiry OR " +
+           "(m.membershipExpiry = :afterExpiry AND m.id > :afterId) " +
+           "ORDER BY m.membershipExpiry, m.id")
+    List<Member> findPageOrderByMembershipExpiry(
+        @Param("afterExpiry") LocalDate afterExpiry,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Members without an expiry, which the expiry listing returns after all dated ones
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.user " +
+           "WHERE m.membershipExpiry IS NULL AND m.id > :afterId ORDER BY m.id")
+    List<Member> findPageWithoutMembershipExpiry(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.fithub.repository;
+
+import com.fithub.dto.MemberSearchResult;
+
+import java.util.List;
+
+public interface MemberSearchRepository {
+
+    /**
+     * Ranked member search over name, email and phone. Results are ordered by rank (best first)
+     * then id, and continue after the given {@code (afterRank, afterId)} position.
+     */
+    List<MemberSearchResult> searchMembers(String search, double afterRank, long afterId, int limit);
+}
@@ -0,0 +1,110 @@
+package com.fithub.repository;
+
+import com.fithub.dto.MemberSearchResult;
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+public class MemberSearchRepositoryImpl implements MemberSearchRepository {
+    private static final String SEARCH_SQL = """
+        SELECT * FROM (
+            SELECT m.id, m.name, m.email, m.phone, m.membership_type, m.status, m.membership_expiry,
+                   CAST(ts_rank(m.search_vector, to_tsquery('simple', :tsQuery))
+                        + similarity(m.search_text, :term)
+                        + CASE WHEN :digits <> '' AND m.phone_digits LIKE :digitsPrefix THEN 1 ELSE 0 END
+                        AS DOUBLE PRECISION) AS rank
+            FROM members m
+            WHERE m.search_vector @@ to_tsquery('simple', :tsQuery)
+               OR m.search_text LIKE :contains ESCAPE '\\'
+               OR (:digits <> '' AND m.phone_digits LIKE :digitsPrefix)
+        ) ranked
+        WHERE ranked.rank < :afterRank OR (ranked.rank = :afterRank AND ranked.id > :afterId)
+        ORDER BY ranked.rank DESC, ranked.id
+        LIMIT :limit
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${search.slow-query-threshold:PT0.2S}")
+    private Duration slowQueryThreshold;
+
+    @Override
+    public List<MemberSearchResult> searchMembers(String search, double afterRank, long afterId, int limit) {
+        String term = search.trim().toLowerCase(Locale.ROOT);
+        String digits = term.replaceAll("[^0-9]", "");
+
+        long start = System.nanoTime();
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(SEARCH_SQL, Tuple.class)
+            .setParameter("tsQuery", toPrefixQuery(term))
+            .setParameter("term", term)
+            .setParameter("contains", "%" + escapeLike(term) + "%")
+            .setParameter("digits", digits)
+            .setParameter("digitsPrefix", digits + "%")
+            .setParameter("afterRank", afterRank)
+            .setParameter("afterId", afterId)
+            .setParameter("limit", limit)
+            .getResultList();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        if (elapsedMillis >= slowQueryThreshold.toMillis()) {
+            log.warn("Slow member search: {} ms for a {}-character term, {} rows", elapsedMillis, term.length(), rows.size());
+        } else {
+            log.debug("Member search: {} ms for a {}-character term, {} rows", elapsedMillis, term.length(), rows.size());
+        }
+
+        List<MemberSearchResult> results = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            results.add(new MemberSearchResult(
+                ((Number) row.get("id")).longValue(),
+                (String) row.get("name"),
+                (String) row.get("email"),
+                (String) row.get("phone"),
+                row.get("membership_type") != null ? MembershipType.valueOf((String) row.get("membership_type")) : null,
+                row.get("status") != null ? MemberStatus.valueOf((String) row.get("status")) : null,
+                toLocalDate(row.get("membership_expiry")),
+                ((Number) row.get("rank")).doubleValue()
+            ));
+        }
+        return results;
+    }
+
+    // "jane do" -> "jane:* & do:*", so every word matches as a prefix
+    private static String toPrefixQuery(String term) {
+        StringBuilder query = new StringBuilder();
+        for (String word : term.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(" & ");
+            }
+            query.append(word).append(":*");
+        }
+        return query.toString();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        return value != null ? ((Date) value).toLocalDate() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.fithub.repository;
+
+import com.fithub.model.PaymentExport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentExportRepository extends JpaRepository<PaymentExport, Long> {
+    Page<PaymentExport> findAllByOrderByIdDesc(Pageable pageable);
+
+    List<PaymentExport> findByCreatedAtBefore(LocalDateTime createdAt);
+}
@@ -0,0 +1,10 @@
+package com.fithub.repository;
+
+import com.fithub.model.PaymentImport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentImportRepository extends JpaRepository<PaymentImport, Long> {
+    Page<PaymentImport> findAllByOrderByIdDesc(Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.fithub.repository;
+
+import com.fithub.model.PaymentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentReminderRepository extends JpaRepository<PaymentReminder, Long> {
+}
@@ -1,67 +1,73 @@
 package com.fithub.repository;
 
 import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentSearchRepository {
     // Basic queries
+    @Override
+    @EntityGraph(attributePaths = "member")
+    Page<Payment> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "member")
+    Optional<Payment> findWithMemberById(Long id);
+
+    @EntityGraph(attributePaths = "member")
     Page<Payment> findByMemberId(Long memberId, Pageable pageable);
     List<Payment> findByStatus(String status);
     
     // Date range queries
     List<Payment> findByDueDateBetweenAndStatus(LocalDate startDate, LocalDate endDate, String status);
-    List<Payment> findByDueDateBeforeAndStatus(LocalDate date, String status);
-    
-    // Statistics queries
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
-    long countByStatus(@Param("status") String status);
-    
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = :status")
-    BigDecimal sumAmountByStatus(@Param("status") String status);
-    
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.dueDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumAmountByDateRange(
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
+
+    // Keyset page over the payments due on one of the given dates for a member id range, ordered by id
+    @Query("SELECT p FROM Payment p JOIN FETCH p.member m " +
+           "WHERE p.dueDate IN :dueDates AND p.status = :status AND p.id > :afterId " +
+           "AND m.id >= :fromMemberId AND m.id < :toMemberId " +
+           "ORDER BY p.id")
+    List<Payment> findByDueDateInAndStatusAfterId(
+        @Param("dueDates") Collection<LocalDate> dueDates,
+        @Param("status") PaymentStatus status,
+        @Param("afterId") Long afterId,
+        @Param("fromMemberId") Long fromMemberId,
+        @Param("toMemberId") Long toMemberId,
+        Pageable pageable
     );
     
-    // Advanced search
-    @Query("SELECT p FROM Payment p WHERE " +
-           "LOWER(p.member.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "CAST(p.amount AS string) LIKE CONCAT('%', :search, '%')")
-    Page<Payment> searchPayments(@Param("search") String search, Pageable pageable);
-    
-    // Overdue payments
-    @Query("SELECT p FROM Payment p WHERE p.dueDate < :date AND p.status = 'PENDING'")
-    List<Payment> findOverduePayments(@Param("date") LocalDate date);
+    // Keyset pages for the cursor-based listing; none of them issue a count query
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.member WHERE p.id > :afterId ORDER BY p.id")
+    List<Payment> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.member " +
+           "WHERE p.dueDate > :afterDueDate OR " +
+           "(p.dueDate = :afterDueDate AND p.id > :afterId) " +
+           "ORDER BY p.dueDate, p.id")
+    List<Payment> findPageOrderByDueDate(
+        @Param("afterDueDate") LocalDate afterDueDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Payments without a due date, which the due date listing returns after all dated ones
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.member " +
+           "WHERE p.dueDate IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<Payment> findPageWithoutDueDate(@Param("afterId") Long afterId, Pageable pageable);
     
     // Recent payments
     @Query("SELECT p FROM Payment p WHERE p.member.id = :memberId " +
-           "ORDER BY p.createdAt DESC")
+           "ORDER BY p.id DESC")
     List<Payment> findRecentPaymentsByMember(
         @Param("memberId") Long memberId,
         Pageable pageable
     );
-    
-    // Payment statistics by date range
-    @Query("SELECT NEW map(" +
-           "COUNT(p) as count, " +
-           "SUM(p.amount) as total, " +
-           "p.status as status) " +
-           "FROM Payment p " +
-           "WHERE p.dueDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY p.status")
-    List<Object[]> getPaymentStatsByDateRange(
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
-    );
 }
\ No newline at end of file
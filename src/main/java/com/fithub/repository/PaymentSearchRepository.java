@@ -0,0 +1,15 @@
+package com.fithub.repository;
+
+import com.fithub.dto.PaymentSearchCriteria;
+import com.fithub.dto.PaymentSummary;
+
+import java.util.List;
+
+public interface PaymentSearchRepository {
+
+    /**
+     * Applies every non-null criterion in SQL and returns up to {@code limit} payments with an id
+     * below {@code beforeId}, newest first.
+     */
+    List<PaymentSummary> searchPayments(PaymentSearchCriteria criteria, long beforeId, int limit);
+}
@@ -0,0 +1,104 @@
+package com.fithub.repository;
+
+import com.fithub.dto.PaymentSearchCriteria;
+import com.fithub.dto.PaymentSummary;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class PaymentSearchRepositoryImpl implements PaymentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PaymentSummary> searchPayments(PaymentSearchCriteria criteria, long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT p.id, p.member_id, m.name AS member_name, p.amount, p.due_date, p.payment_date, " +
+            "p.status, p.type, p.description " +
+            "FROM payments p LEFT JOIN members m ON m.id = p.member_id " +
+            "WHERE p.id < :beforeId");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("beforeId", beforeId);
+
+        if (criteria.getMemberId() != null) {
+            sql.append(" AND p.member_id = :memberId");
+            parameters.put("memberId", criteria.getMemberId());
+        }
+        if (criteria.getStatus() != null) {
+            sql.append(" AND p.status = :status");
+            parameters.put("status", criteria.getStatus().name());
+        }
+        if (criteria.getType() != null) {
+            sql.append(" AND p.type = :type");
+            parameters.put("type", criteria.getType().name());
+        }
+        if (criteria.getMinAmount() != null) {
+            sql.append(" AND p.amount >= :minAmount");
+            parameters.put("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            sql.append(" AND p.amount <= :maxAmount");
+            parameters.put("maxAmount", criteria.getMaxAmount());
+        }
+        if (criteria.getDueFrom() != null) {
+            sql.append(" AND p.due_date >= :dueFrom");
+            parameters.put("dueFrom", criteria.getDueFrom());
+        }
+        if (criteria.getDueTo() != null) {
+            sql.append(" AND p.due_date <= :dueTo");
+            parameters.put("dueTo", criteria.getDueTo());
+        }
+        if (criteria.getQ() != null && !criteria.getQ().isBlank()) {
+            sql.append(" AND (p.search_text LIKE :contains ESCAPE '\\'" +
+                       " OR p.member_id IN (SELECT s.id FROM members s WHERE s.search_text LIKE :contains ESCAPE '\\'))");
+            parameters.put("contains", "%" + escapeLike(criteria.getQ().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        sql.append(" ORDER BY p.id DESC LIMIT :limit");
+        parameters.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = query.getResultList();
+        List<PaymentSummary> results = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            results.add(new PaymentSummary(
+                ((Number) row.get("id")).longValue(),
+                row.get("member_id") != null ? ((Number) row.get("member_id")).longValue() : null,
+                (String) row.get("member_name"),
+                (BigDecimal) row.get("amount"),
+                toLocalDate(row.get("due_date")),
+                toLocalDate(row.get("payment_date")),
+                row.get("status") != null ? PaymentStatus.valueOf((String) row.get("status")) : null,
+                row.get("type") != null ? PaymentType.valueOf((String) row.get("type")) : null,
+                (String) row.get("description")
+            ));
+        }
+        return results;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        return value != null ? ((Date) value).toLocalDate() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.fithub.repository;
+
+import com.fithub.model.OutboxStatus;
+import com.fithub.model.ReminderOutbox;
+import com.fithub.model.ReminderType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReminderOutboxRepository extends JpaRepository<ReminderOutbox, Long> {
+
+    // Due rows plus rows whose sender lease ran out; rows locked by another dispatcher are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM ReminderOutbox o WHERE o.channel = :channel AND (" +
+           "(o.status = com.fithub.model.OutboxStatus.PENDING AND o.nextAttemptAt <= :now) OR " +
+           "(o.status = com.fithub.model.OutboxStatus.SENDING AND o.lockedUntil < :now)) " +
+           "ORDER BY o.nextAttemptAt, o.id")
+    List<ReminderOutbox> findDeliverable(
+        @Param("channel") ReminderType channel,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+
+    long countByChannelAndStatus(ReminderType channel, OutboxStatus status);
+}
@@ -0,0 +1,15 @@
+package com.fithub.repository;
+
+import com.fithub.model.Setting;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface SettingRepository extends JpaRepository<Setting, Long> {
+    // Used to detect edits made directly in the table, so it always reads the database
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    List<Setting> findBySettingKeyStartingWith(String prefix);
+}
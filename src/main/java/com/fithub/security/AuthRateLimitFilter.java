@@ -0,0 +1,215 @@
+package com.fithub.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds login and registration attempts before they reach the authentication manager, and with
+ * it BCrypt and the user lookup. Each attempt takes a token from a global bucket, one for the
+ * client address and one for the account email from that address; an empty bucket answers 429
+ * with Retry-After. The account bucket is keyed by client as well so that guessing at an email
+ * from elsewhere cannot lock its owner out. The client address is {@code getRemoteAddr()}, so
+ * behind a proxy set {@code server.forward-headers-strategy}.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final TokenBucketLimiter globalLimiter;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter accountLimiter;
+
+    private final Counter allowed;
+    private final Counter rejectedGlobal;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByAccount;
+
+    public AuthRateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.max-body-bytes:8192}") int maxBodyBytes,
+            @Value("${security.rate-limit.maximum-keys:100000}") long maximumKeys,
+            @Value("${security.rate-limit.global.requests-per-minute:6000}") int globalPerMinute,
+            @Value("${security.rate-limit.global.burst:100}") int globalBurst,
+            @Value("${security.rate-limit.ip.requests-per-minute:30}") int ipPerMinute,
+            @Value("${security.rate-limit.ip.burst:10}") int ipBurst,
+            @Value("${security.rate-limit.account.requests-per-minute:5}") int accountPerMinute,
+            @Value("${security.rate-limit.account.burst:5}") int accountBurst,
+            MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.globalLimiter = new TokenBucketLimiter(globalPerMinute, globalBurst, 1);
+        this.ipLimiter = new TokenBucketLimiter(ipPerMinute, ipBurst, maximumKeys);
+        this.accountLimiter = new TokenBucketLimiter(accountPerMinute, accountBurst, maximumKeys);
+        this.allowed = registry.counter("security.auth.rate_limit", "outcome", "allowed", "limit", "none");
+        this.rejectedGlobal = registry.counter("security.auth.rate_limit", "outcome", "rejected", "limit", "global");
+        this.rejectedByIp = registry.counter("security.auth.rate_limit", "outcome", "rejected", "limit", "ip");
+        this.rejectedByAccount = registry.counter("security.auth.rate_limit", "outcome", "rejected", "limit", "account");
+        Gauge.builder("security.auth.rate_limit.keys", ipLimiter, TokenBucketLimiter::size)
+            .tag("limit", "ip")
+            .register(registry);
+        Gauge.builder("security.auth.rate_limit.keys", accountLimiter, TokenBucketLimiter::size)
+            .tag("limit", "account")
+            .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        // Per-client buckets first, so one noisy address cannot drain the global bucket for everyone
+        String client = request.getRemoteAddr();
+        long wait = ipLimiter.tryAcquire(client);
+        if (wait > 0) {
+            reject(response, rejectedByIp, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String email = email(body);
+        if (email != null) {
+            wait = accountLimiter.tryAcquire(email + '|' + client);
+            if (wait > 0) {
+                reject(response, rejectedByAccount, wait);
+                return;
+            }
+        }
+
+        wait = globalLimiter.tryAcquire("auth");
+        if (wait > 0) {
+            reject(response, rejectedGlobal, wait);
+            return;
+        }
+
+        allowed.increment();
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new LinkedHashMap<>();
+        snapshot.put("allowed", (long) allowed.count());
+        snapshot.put("rejectedGlobal", (long) rejectedGlobal.count());
+        snapshot.put("rejectedByIp", (long) rejectedByIp.count());
+        snapshot.put("rejectedByAccount", (long) rejectedByAccount.count());
+        snapshot.put("trackedIps", ipLimiter.size());
+        snapshot.put("trackedAccounts", accountLimiter.size());
+        return snapshot;
+    }
+
+    private void reject(HttpServletResponse response, Counter counter, long waitNanos) {
+        counter.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+            String.valueOf(Math.max(TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L), 1)));
+    }
+
+    // A body that does not parse is left for the controller to reject; only the IP bucket applies
+    private String email(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replays the body read for the account check to the rest of the chain.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
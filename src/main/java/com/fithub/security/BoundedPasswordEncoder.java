@@ -0,0 +1,174 @@
+package com.fithub.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt on a dedicated pool sized to the cores, so a burst of logins queues there instead of
+ * holding request threads, and is shed with a 503 once the queue is full or the wait too long.
+ * The cost is calibrated at startup to the target latency; hashes stored with a lower cost are
+ * re-encoded on the user's next successful login via {@code upgradeEncoding}.
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration maxWait;
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+
+    private final Timer queueWait;
+    private final Timer hashTime;
+    private final Counter rejected;
+    private final Counter upgrades;
+
+    public BoundedPasswordEncoder(
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${security.password-hashing.max-wait:PT2S}") Duration maxWait,
+            @Value("${security.password-hashing.cost:0}") int fixedCost,
+            @Value("${security.password-hashing.target-latency:PT0.25S}") Duration targetLatency,
+            @Value("${security.password-hashing.min-cost:10}") int minCost,
+            @Value("${security.password-hashing.max-cost:14}") int maxCost,
+            MeterRegistry registry) {
+        this.executor = executor;
+        this.maxWait = maxWait;
+        this.cost = fixedCost > 0 ? fixedCost : calibrate(targetLatency, minCost, maxCost);
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.queueWait = Timer.builder("security.password.queue.wait")
+            .description("Time a password hash waited for a hashing thread")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.hashTime = Timer.builder("security.password.hash")
+            .description("BCrypt encode and match time")
+            .tag("cost", String.valueOf(cost))
+            .publishPercentileHistogram()
+            .register(registry);
+        this.rejected = registry.counter("security.password.rejected");
+        this.upgrades = registry.counter("security.password.upgrades");
+        Gauge.builder("security.password.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        boolean upgrade = delegate.upgradeEncoding(encodedPassword);
+        if (upgrade) {
+            upgrades.increment();
+        }
+        return upgrade;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("cost", cost);
+        snapshot.put("poolSize", executor.getMaxPoolSize());
+        snapshot.put("active", executor.getActiveCount());
+        snapshot.put("queueDepth", executor.getThreadPoolExecutor().getQueue().size());
+        snapshot.put("rejected", (long) rejected.count());
+        snapshot.put("upgrades", (long) upgrades.count());
+        snapshot.put("queueWait", snapshot(queueWait));
+        snapshot.put("hashTime", snapshot(hashTime));
+        return snapshot;
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new PasswordHashingOverloadedException(maxWait);
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Drops it from the queue if it has not started; a running hash just finishes unused
+            future.cancel(false);
+            rejected.increment();
+            throw new PasswordHashingOverloadedException(maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Picks the highest cost whose hash still fits the target on this hardware; each step doubles the time
+    private static int calibrate(Duration target, int minCost, int maxCost) {
+        // Warm-up so the first measurement is not paying for class loading and JIT
+        BCrypt.hashpw("calibration", BCrypt.gensalt(minCost));
+        int chosen = minCost;
+        long chosenNanos = 0;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(candidate));
+            long elapsed = System.nanoTime() - started;
+            if (elapsed > target.toNanos() && candidate > minCost) {
+                break;
+            }
+            chosen = candidate;
+            chosenNanos = elapsed;
+        }
+        log.info("Calibrated BCrypt cost {} ({} ms per hash, target {} ms)",
+            chosen, chosenNanos / 1_000_000, target.toMillis());
+        return chosen;
+    }
+
+    private static Map<String, Number> snapshot(Timer timer) {
+        Map<String, Number> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", timer.count());
+        snapshot.put("avgMillis", timer.mean(TimeUnit.MILLISECONDS));
+        snapshot.put("maxMillis", timer.max(TimeUnit.MILLISECONDS));
+        return snapshot;
+    }
+}
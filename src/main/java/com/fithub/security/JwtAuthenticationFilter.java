@@ -1,10 +1,11 @@
 package com.fithub.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,13 +16,46 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String AUTHENTICATED = "authenticated";
+    private static final String REJECTED = "rejected";
+    private static final String SKIPPED = "skipped";
+    private static final String ERROR = "error";
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtTokenCache tokenCache;
+    private final UserPrincipalCache principalCache;
+    private final Map<String, Timer> timers;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            JwtTokenCache tokenCache,
+            UserPrincipalCache principalCache,
+            MeterRegistry registry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
+        this.principalCache = principalCache;
+        this.timers = Map.of(
+            AUTHENTICATED, timer(registry, AUTHENTICATED),
+            REJECTED, timer(registry, REJECTED),
+            SKIPPED, timer(registry, SKIPPED),
+            ERROR, timer(registry, ERROR));
+    }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("security.jwt.filter")
+            .description("Token parsing, principal lookup and validation for requests carrying a JWT")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -40,23 +74,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         
-        final String userEmail = jwtService.extractUsername(token);
-        
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtService.isTokenValid(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        long started = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            final JwtClaims claims = tokenCache.get(token, jwtService::parseToken);
+            final String userEmail = claims.subject();
+            outcome = SKIPPED;
+
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = principalCache.get(userEmail, userDetailsService);
+                outcome = REJECTED;
+
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = AUTHENTICATED;
+                }
             }
+        } finally {
+            timers.get(outcome).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
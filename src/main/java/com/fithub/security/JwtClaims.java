@@ -0,0 +1,18 @@
+package com.fithub.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a token's verified claims, parsed once and shared by every check.
+ */
+public record JwtClaims(String subject, Instant issuedAt, Instant expiresAt, List<String> roles) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
@@ -0,0 +1,82 @@
+package com.fithub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by a SHA-256 hash of
+ * the token so raw tokens are never held in memory. Entries expire with the token itself.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final Cache<String, JwtClaims> cache;
+
+    public JwtTokenCache(
+            @Value("${security.jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt-cache.max-ttl:PT15M}") Duration maxTtl,
+            MeterRegistry registry) {
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new Expiry<String, JwtClaims>() {
+                @Override
+                public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                    long untilExpiry = Duration.between(Instant.now(), claims.expiresAt()).toNanos();
+                    return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt-tokens");
+    }
+
+    /**
+     * Returns the verified token, running {@code verifier} only on a cache miss. Tokens that
+     * fail verification are not cached; the verifier's exception propagates to the caller.
+     */
+    public JwtClaims get(String token, Function<String, JwtClaims> verifier) {
+        return cache.get(hash(token), key -> verifier.apply(token));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fithub.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password hashing pool cannot take a login or registration in time; resolved to
+ * a 503 with {@code Retry-After} so clients back off instead of piling onto the queue.
+ */
+public class PasswordHashingOverloadedException extends ResponseStatusException {
+    private final Duration retryAfter;
+
+    public PasswordHashingOverloadedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, retry shortly");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfter.toSeconds(), 1)));
+        return headers;
+    }
+}
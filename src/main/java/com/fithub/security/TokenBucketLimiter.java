@@ -0,0 +1,50 @@
+package com.fithub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, kept as the generic cell rate algorithm: each key holds only the
+ * theoretical arrival time of its next request in an {@link AtomicLong}, updated by CAS, so
+ * checking a key takes no lock. Idle keys are evicted once their bucket would be full again.
+ */
+class TokenBucketLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    TokenBucketLimiter(int requestsPerMinute, int burst, long maximumKeys) {
+        this.emissionIntervalNanos = Duration.ofMinutes(1).toNanos() / Math.max(requestsPerMinute, 1);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos + burstToleranceNanos))
+            .build();
+    }
+
+    /**
+     * Takes a token for the key; returns 0 when allowed, otherwise the nanoseconds until one is free.
+     */
+    long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long stored = arrival.get();
+            long theoretical = stored == Long.MIN_VALUE ? now : Math.max(stored, now);
+            long wait = theoretical - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(stored, theoretical + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long size() {
+        return buckets.estimatedSize();
+    }
+}
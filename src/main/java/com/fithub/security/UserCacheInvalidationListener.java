@@ -0,0 +1,22 @@
+package com.fithub.security;
+
+import com.fithub.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached principals whenever a user's row (role, password, email...) changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+    private final UserPrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        principalCache.evict(user);
+    }
+}
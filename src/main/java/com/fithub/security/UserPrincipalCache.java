@@ -0,0 +1,63 @@
+package com.fithub.security;
+
+import com.fithub.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of loaded principals so authenticated requests do not look the user up
+ * in the database every time. Entries are dropped as soon as the user row changes.
+ */
+@Component
+public class UserPrincipalCache {
+    private final Cache<String, UserDetails> cache;
+
+    public UserPrincipalCache(
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl:PT30S}") Duration ttl,
+            MeterRegistry registry) {
+        this.cache = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build(), "user-principals");
+    }
+
+    public UserDetails get(String username, UserDetailsService userDetailsService) {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Drops every entry for the user, including one cached under a previous email address.
+     */
+    public void evict(User user) {
+        if (user.getEmail() != null) {
+            cache.invalidate(user.getEmail());
+        }
+        if (user.getId() != null) {
+            cache.asMap().values().removeIf(details ->
+                details instanceof User cached && user.getId().equals(cached.getId()));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,105 @@
+package com.fithub.service;
+
+import com.fithub.dto.AttendanceResult;
+import com.fithub.model.Attendance;
+import com.fithub.model.MemberStatus;
+import com.fithub.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Turnstile check-in and check-out. Postgres decides both, so every node sees the same open
+ * visits and member status: a check-in is one conditional insert that also checks the member,
+ * and the partial unique index on open visits makes a second check-in, through any node, insert
+ * nothing. The visit counters on the member row are left to {@link AttendanceWriter}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceService {
+    private static final String DEFAULT_FACILITY_AREA = "gym";
+    private static final String DEFAULT_CHECK_IN_METHOD = "card";
+
+    private static final String CHECK_IN_SQL =
+        "INSERT INTO attendance (member_id, check_in, facility_area, check_in_method, created_at, updated_at) " +
+        "SELECT m.id, ?, ?, ?, ?, ? FROM members m " +
+        "WHERE m.id = ? AND m.status = 'ACTIVE' " +
+        "AND (m.membership_expiry IS NULL OR m.membership_expiry >= ?) " +
+        "ON CONFLICT (member_id) WHERE check_out IS NULL DO NOTHING " +
+        "RETURNING id";
+    // Only run when a check-in inserted nothing, to tell the turnstile why
+    private static final String DENIAL_SQL =
+        "SELECT m.status, m.membership_expiry, " +
+        "EXISTS (SELECT 1 FROM attendance a WHERE a.member_id = m.id AND a.check_out IS NULL) " +
+        "FROM members m WHERE m.id = ?";
+    private static final String CHECK_OUT_SQL =
+        "UPDATE attendance SET check_out = ?, updated_at = ?, " +
+        "duration = FLOOR(EXTRACT(EPOCH FROM (CAST(? AS TIMESTAMP) - check_in)) / 60) " +
+        "WHERE member_id = ? AND check_out IS NULL " +
+        "RETURNING facility_area";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceWriter writer;
+    private final AttendanceRepository attendanceRepository;
+
+    public AttendanceResult checkIn(Long memberId, String facilityArea, String checkInMethod) {
+        String area = facilityArea != null ? facilityArea : DEFAULT_FACILITY_AREA;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Long> inserted = jdbcTemplate.queryForList(CHECK_IN_SQL, Long.class,
+            timestamp, area, checkInMethod != null ? checkInMethod : DEFAULT_CHECK_IN_METHOD,
+            timestamp, timestamp, memberId, Date.valueOf(now.toLocalDate()));
+        if (inserted.isEmpty()) {
+            return AttendanceResult.denied(memberId, denialReason(memberId, now.toLocalDate()));
+        }
+        writer.recordVisit(memberId, now);
+        return AttendanceResult.granted(memberId, area, now);
+    }
+
+    public AttendanceResult checkOut(Long memberId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<String> closed = jdbcTemplate.queryForList(CHECK_OUT_SQL, String.class,
+            timestamp, timestamp, timestamp, memberId);
+        if (closed.isEmpty()) {
+            return AttendanceResult.denied(memberId, AttendanceResult.NOT_CHECKED_IN);
+        }
+        String area = closed.get(0);
+        return AttendanceResult.granted(memberId, area != null ? area : DEFAULT_FACILITY_AREA, now);
+    }
+
+    public Page<Attendance> getMemberAttendance(Long memberId, Pageable pageable) {
+        return attendanceRepository.findByMemberIdOrderByCheckInDesc(memberId, pageable);
+    }
+
+    public long getOpenVisitCount() {
+        return attendanceRepository.countByCheckOutIsNull();
+    }
+
+    private String denialReason(Long memberId, LocalDate today) {
+        List<String> reasons = jdbcTemplate.query(DENIAL_SQL, (rs, row) -> {
+            String status = rs.getString(1);
+            Date expiry = rs.getDate(2);
+            if (status == null || MemberStatus.valueOf(status) != MemberStatus.ACTIVE) {
+                return AttendanceResult.MEMBERSHIP_INACTIVE;
+            }
+            if (expiry != null && expiry.toLocalDate().isBefore(today)) {
+                return AttendanceResult.MEMBERSHIP_EXPIRED;
+            }
+            // Checked in already, through this node or another
+            return AttendanceResult.ALREADY_CHECKED_IN;
+        }, memberId);
+        return reasons.isEmpty() ? AttendanceResult.MEMBER_NOT_FOUND : reasons.get(0);
+    }
+}
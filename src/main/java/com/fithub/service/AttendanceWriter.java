@@ -0,0 +1,242 @@
+package com.fithub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer for the visit counters on the member row ({@code total_visits},
+ * {@code last_visit_date}). The attendance rows themselves are written by
+ * {@link AttendanceService} as each check-in happens; the counters are derived data, so they are
+ * queued by the request threads and applied in batches, one transaction per batch, and a burst at
+ * the turnstiles turns into a few batched statements.
+ */
+@Component
+@Slf4j
+public class AttendanceWriter implements SmartLifecycle {
+    private static final String VISITS_SQL =
+        "UPDATE members SET total_visits = COALESCE(total_visits, 0) + ?, " +
+        "last_visit_date = GREATEST(last_visit_date, ?) WHERE id = ?";
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheEvictor cacheEvictor;
+    private final BlockingQueue<VisitEvent> queue;
+    private final int batchSize;
+    private final Duration pollTimeout;
+    private final Duration enqueueTimeout;
+
+    private final Counter visitsWritten;
+    private final Counter batchesWritten;
+    private final Counter failedBatches;
+    private final Counter rejectedEvents;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public record VisitEvent(Long memberId, LocalDateTime checkIn) {
+    }
+
+    public AttendanceWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityCacheEvictor cacheEvictor,
+            @Value("${attendance.writer.queue-capacity:20000}") int queueCapacity,
+            @Value("${attendance.writer.batch-size:500}") int batchSize,
+            @Value("${attendance.writer.poll-timeout:PT0.05S}") Duration pollTimeout,
+            @Value("${attendance.writer.enqueue-timeout:PT0.1S}") Duration enqueueTimeout,
+            MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+        this.enqueueTimeout = enqueueTimeout;
+        this.visitsWritten = registry.counter("attendance.writer.events", "type", "visit");
+        this.batchesWritten = registry.counter("attendance.writer.batches", "outcome", "written");
+        this.failedBatches = registry.counter("attendance.writer.batches", "outcome", "failed");
+        this.rejectedEvents = registry.counter("attendance.writer.events", "type", "rejected");
+        Gauge.builder("attendance.writer.queue", queue, BlockingQueue::size)
+            .description("Visit counter updates waiting to be written")
+            .register(registry);
+    }
+
+    /**
+     * Queues the counter update for a check-in. If the queue stays full for the enqueue timeout,
+     * the update is written on the calling thread instead, so a granted visit is always counted.
+     */
+    public void recordVisit(Long memberId, LocalDateTime checkIn) {
+        VisitEvent event = new VisitEvent(memberId, checkIn);
+        try {
+            if (queue.offer(event, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The visit is already granted and stored; a failed count must not fail the check-in
+        try {
+            write(List.of(event));
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.error("Failed to write visit count for member {}", memberId, e);
+        }
+    }
+
+    public Map<String, Number> snapshot() {
+        Map<String, Number> stats = new HashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("visitsWritten", (long) visitsWritten.count());
+        stats.put("batchesWritten", (long) batchesWritten.count());
+        stats.put("failedBatches", (long) failedBatches.count());
+        stats.put("rejectedEvents", (long) rejectedEvents.count());
+        return stats;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "attendance-writer");
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(Duration.ofSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Attendance writer stopped with {} unwritten visit counts", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<VisitEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                VisitEvent first = queue.poll(pollTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the batch in order. Transient failures (connection lost, database down, deadlock)
+     * retry the same events with backoff so nothing is reordered or dropped. Any other failure
+     * means some event in it can never be written, so the batch is split in halves until the
+     * offending events are isolated; those are logged and dropped and the rest are written.
+     */
+    private void writeWithRetry(List<VisitEvent> batch) throws InterruptedException {
+        Deque<List<VisitEvent>> pending = new ArrayDeque<>();
+        pending.push(batch);
+        Duration delay = Duration.ofSeconds(1);
+        while (!pending.isEmpty()) {
+            List<VisitEvent> part = pending.peek();
+            try {
+                write(part);
+                pending.pop();
+            } catch (Exception e) {
+                failedBatches.increment();
+                if (isTransient(e)) {
+                    if (!running) {
+                        int remaining = pending.stream().mapToInt(List::size).sum();
+                        log.error("Dropping {} visit counts during shutdown", remaining, e);
+                        return;
+                    }
+                    log.error("Failed to write {} visit counts, retrying in {}", part.size(), delay, e);
+                    Thread.sleep(delay.toMillis());
+                    delay = delay.multipliedBy(2).compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay.multipliedBy(2);
+                    continue;
+                }
+                pending.pop();
+                if (part.size() == 1) {
+                    rejectedEvents.increment();
+                    log.error("Dropping visit count rejected by the database: {}", part.get(0), e);
+                } else {
+                    // Earlier half on top, so events are still written in arrival order
+                    int middle = part.size() / 2;
+                    pending.push(part.subList(middle, part.size()));
+                    pending.push(part.subList(0, middle));
+                }
+            }
+        }
+    }
+
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    private void write(List<VisitEvent> batch) {
+        Map<Long, VisitDelta> visits = new HashMap<>();
+        for (VisitEvent event : batch) {
+            visits.merge(event.memberId(), new VisitDelta(1, event.checkIn()), VisitDelta::plus);
+        }
+        List<Map.Entry<Long, VisitDelta>> deltas = new ArrayList<>(visits.entrySet());
+        // Stable lock order across batches
+        deltas.sort(Map.Entry.comparingByKey());
+
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(VISITS_SQL, deltas, deltas.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getValue().visits());
+                ps.setTimestamp(2, Timestamp.valueOf(entry.getValue().lastVisit()));
+                ps.setLong(3, entry.getKey());
+            }));
+
+        // total_visits and last_visit_date changed behind Hibernate's back
+        cacheEvictor.evictMembers(visits.keySet(), false);
+        visitsWritten.increment(batch.size());
+        batchesWritten.increment();
+    }
+
+    private record VisitDelta(int visits, LocalDateTime lastVisit) {
+        VisitDelta plus(VisitDelta other) {
+            return new VisitDelta(visits + other.visits,
+                lastVisit.isAfter(other.lastVisit) ? lastVisit : other.lastVisit);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.fithub.service;
+
+import com.fithub.model.ReminderType;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends mail over a small pool of kept-alive SMTP connections instead of opening
+ * (and TLS-handshaking) a new connection for every message.
+ */
+@Component
+@Slf4j
+public class EmailTransport {
+    private final JavaMailSenderImpl mailSender;
+    private final ReminderChannelMetrics metrics;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+
+    public EmailTransport(
+            JavaMailSenderImpl mailSender,
+            ReminderChannelMetrics metrics,
+            @Value("${reminders.transport.smtp.pool-size:8}") int poolSize,
+            @Value("${reminders.transport.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${reminders.transport.smtp.max-idle:PT1M}") Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.metrics = metrics;
+        this.permits = new Semaphore(poolSize, true);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = maxIdle.toNanos();
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        long waitStart = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        metrics.record(ReminderType.EMAIL, ReminderChannelMetrics.Phase.POOL_WAIT, System.nanoTime() - waitStart);
+
+        PooledConnection connection = null;
+        try {
+            connection = borrow();
+            long sendStart = System.nanoTime();
+            message.saveChanges();
+            connection.transport.sendMessage(message, message.getAllRecipients());
+            metrics.record(ReminderType.EMAIL, ReminderChannelMetrics.Phase.SEND, System.nanoTime() - sendStart);
+            connection.messagesSent++;
+            connection.lastUsed = System.nanoTime();
+            if (connection.messagesSent < maxMessagesPerConnection) {
+                idle.offerFirst(connection);
+                connection = null;
+            }
+        } finally {
+            if (connection != null) {
+                close(connection);
+            }
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    private PooledConnection borrow() throws MessagingException {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (System.nanoTime() - connection.lastUsed < maxIdleNanos && connection.transport.isConnected()) {
+                return connection;
+            }
+            close(connection);
+        }
+        return connect();
+    }
+
+    private PooledConnection connect() throws MessagingException {
+        long connectStart = System.nanoTime();
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        metrics.record(ReminderType.EMAIL, ReminderChannelMetrics.Phase.CONNECT, System.nanoTime() - connectStart);
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledConnection(transport);
+    }
+
+    private void close(PooledConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection cleanly", e);
+        }
+    }
+
+    private static class PooledConnection {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsed = System.nanoTime();
+
+        PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fithub.service;
+
+import com.fithub.model.Member;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts second-level cache entries for rows written with plain JDBC, which Hibernate does not
+ * see. Eviction happens after commit so a concurrent reader cannot re-cache the old row.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts changed members. Pass {@code inserted} when rows were added, so cached query
+     * results that could now include them are dropped too.
+     */
+    public void evictMembers(Collection<Long> memberIds, boolean inserted) {
+        List<Long> ids = List.copyOf(memberIds);
+        afterCommit(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            ids.forEach(id -> cache.evict(Member.class, id));
+            if (inserted) {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
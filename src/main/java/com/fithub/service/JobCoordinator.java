@@ -0,0 +1,300 @@
+package com.fithub.service;
+
+import com.fithub.dto.JobPartitionStatus;
+import com.fithub.model.JobStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs scheduled jobs once across all application nodes. A run (job name plus run key, e.g. the
+ * sweep date) is split into member-id ranges in {@code job_partitions} by whichever node gets
+ * there first; every node firing the job then claims ranges with {@code FOR UPDATE SKIP LOCKED}
+ * and holds them under a lease renewed by a heartbeat. Ranges whose lease runs out because
+ * their node died are picked up again by the recovery task on the surviving nodes, so workers
+ * must be safe to rerun over a range. The last range has no upper bound, so members created
+ * after a run was split still belong to it.
+ */
+@Service
+@Slf4j
+public class JobCoordinator {
+    private static final String CLAIM_SQL =
+        "UPDATE job_partitions p SET status = 'RUNNING', owner = ?, " +
+        "  lease_until = now() + ? * INTERVAL '1 millisecond', attempts = p.attempts + 1, updated_at = now() " +
+        "FROM (" +
+        "  SELECT job_name, run_key, partition_no FROM job_partitions " +
+        "  WHERE job_name = ? AND run_key = ? " +
+        "    AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now())) " +
+        "  ORDER BY partition_no LIMIT 1 FOR UPDATE SKIP LOCKED" +
+        ") c " +
+        "WHERE p.job_name = c.job_name AND p.run_key = c.run_key AND p.partition_no = c.partition_no " +
+        "RETURNING p.partition_no, p.from_id, p.to_id, p.attempts";
+
+    // Every write below is fenced on owner so a node that lost its lease cannot overwrite the new holder
+    private static final String COMPLETE_SQL =
+        "UPDATE job_partitions SET status = 'COMPLETED', lease_until = NULL, rows_processed = ?, " +
+        "  completed_at = now(), updated_at = now() " +
+        "WHERE job_name = ? AND run_key = ? AND partition_no = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String RELEASE_SQL =
+        "UPDATE job_partitions SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+        "  lease_until = NULL, last_error = ?, updated_at = now() " +
+        "WHERE job_name = ? AND run_key = ? AND partition_no = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String RENEW_SQL =
+        "UPDATE job_partitions SET lease_until = now() + ? * INTERVAL '1 millisecond', updated_at = now() " +
+        "WHERE owner = ? AND status = 'RUNNING'";
+
+    private static final String ABANDONED_RUNS_SQL =
+        "SELECT DISTINCT run_key FROM job_partitions " +
+        "WHERE job_name = ? AND status IN ('PENDING', 'RUNNING') " +
+        "  AND created_at > now() - ? * INTERVAL '1 millisecond' " +
+        "  AND (status = 'PENDING' OR lease_until < now())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final Map<String, PartitionWorker> workers = new ConcurrentHashMap<>();
+    private final AtomicInteger held = new AtomicInteger();
+
+    @Value("${jobs.coordinator.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${jobs.coordinator.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${jobs.coordinator.max-run-age:PT12H}")
+    private Duration maxRunAge;
+
+    /**
+     * Processes members with {@code fromId <= id < toId} for one run and returns the rows handled.
+     */
+    @FunctionalInterface
+    public interface PartitionWorker {
+        long process(String runKey, long fromId, long toId);
+    }
+
+    /**
+     * This node's share of a run, plus the ranges still unfinished anywhere when it stopped claiming.
+     */
+    public record RunResult(int partitions, int claimed, long rows, int unfinished) {
+        RunResult plus(RunResult other) {
+            return new RunResult(partitions, claimed + other.claimed, rows + other.rows, unfinished);
+        }
+    }
+
+    public JobCoordinator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${jobs.coordinator.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // The random suffix keeps a restarted node from renewing leases its previous process held
+        this.nodeId = (nodeId.isBlank() ? hostName() : nodeId) + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Registers the worker used when this node takes over ranges abandoned by another node.
+     */
+    public void register(String jobName, PartitionWorker worker) {
+        workers.put(jobName, worker);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public RunResult run(String jobName, String runKey, int partitions) {
+        return run(jobName, runKey, partitions, 1, Runnable::run, false, requireWorker(jobName));
+    }
+
+    /**
+     * Creates the run's ranges if no node has yet, then claims and processes ranges with
+     * {@code parallelism} loops on the executor until none are left to claim. Ranges that failed
+     * for good in an earlier attempt are given another chance; with {@code rerun} completed
+     * ranges are processed again as well, for an explicit rerun of a run key that already finished.
+     */
+    public RunResult run(String jobName, String runKey, int partitions, int parallelism,
+                         Executor executor, boolean rerun, PartitionWorker worker) {
+        int total = createPartitions(jobName, runKey, partitions);
+        int retried = jdbcTemplate.update(
+            "UPDATE job_partitions SET status = 'PENDING', attempts = 0, updated_at = now() " +
+            "WHERE job_name = ? AND run_key = ? AND status = 'FAILED'", jobName, runKey);
+        if (retried > 0) {
+            log.info("Job {} [{}]: retrying {} failed ranges", jobName, runKey, retried);
+        }
+        if (rerun) {
+            int reset = jdbcTemplate.update(
+                "UPDATE job_partitions SET status = 'PENDING', attempts = 0, rows_processed = 0, " +
+                "  completed_at = NULL, last_error = NULL, updated_at = now() " +
+                "WHERE job_name = ? AND run_key = ? AND status = 'COMPLETED'", jobName, runKey);
+            if (reset > 0) {
+                log.info("Job {} [{}]: rerunning {} completed ranges", jobName, runKey, reset);
+            }
+        }
+
+        List<CompletableFuture<RunResult>> loops = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            loops.add(CompletableFuture.supplyAsync(() -> claimLoop(jobName, runKey, worker), executor));
+        }
+        RunResult result = loops.stream()
+            .map(CompletableFuture::join)
+            .reduce(new RunResult(total, 0, 0, 0), RunResult::plus);
+        return new RunResult(total, result.claimed(), result.rows(), countUnfinished(jobName, runKey));
+    }
+
+    public List<JobPartitionStatus> getPartitions(String jobName, String runKey) {
+        return jdbcTemplate.query(
+            "SELECT job_name, run_key, partition_no, from_id, to_id, status, owner, lease_until, attempts, " +
+            "rows_processed, last_error, completed_at FROM job_partitions " +
+            "WHERE job_name = ? AND run_key = ? ORDER BY partition_no",
+            (rs, rowNum) -> new JobPartitionStatus(rs.getString(1), rs.getString(2), rs.getInt(3),
+                rs.getLong(4), rs.getLong(5), rs.getString(6), rs.getString(7), toLocalDateTime(rs.getTimestamp(8)),
+                rs.getInt(9), rs.getLong(10), rs.getString(11), toLocalDateTime(rs.getTimestamp(12))),
+            jobName, runKey);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.coordinator.heartbeat-interval:PT30S}")
+    public void renewLeases() {
+        if (held.get() > 0) {
+            jdbcTemplate.update(RENEW_SQL, lease.toMillis(), nodeId);
+        }
+    }
+
+    /**
+     * Takes over unfinished ranges of recent runs, both those whose node stopped renewing its
+     * lease and those released for retry after a failure.
+     */
+    @Scheduled(fixedDelayString = "${jobs.coordinator.recovery-interval:PT1M}",
+               initialDelayString = "${jobs.coordinator.recovery-interval:PT1M}")
+    public void recoverAbandoned() {
+        workers.forEach((jobName, worker) -> {
+            for (String runKey : jdbcTemplate.queryForList(ABANDONED_RUNS_SQL, String.class, jobName, maxRunAge.toMillis())) {
+                log.info("Job {} [{}]: taking over unfinished ranges", jobName, runKey);
+                try {
+                    RunResult result = claimLoop(jobName, runKey, worker);
+                    log.info("Job {} [{}]: recovered {} ranges, {} rows", jobName, runKey, result.claimed(), result.rows());
+                } catch (Exception e) {
+                    log.error("Job {} [{}]: recovery failed", jobName, runKey, e);
+                }
+            }
+        });
+    }
+
+    private RunResult claimLoop(String jobName, String runKey, PartitionWorker worker) {
+        int claimed = 0;
+        long rows = 0;
+        while (true) {
+            List<long[]> partition = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new long[] {rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getInt(4)},
+                nodeId, lease.toMillis(), jobName, runKey);
+            if (partition.isEmpty()) {
+                return new RunResult(0, claimed, rows, 0);
+            }
+            int partitionNo = (int) partition.get(0)[0];
+            long fromId = partition.get(0)[1];
+            long toId = partition.get(0)[2];
+            if (partition.get(0)[3] > maxAttempts) {
+                // Claimed again after its last allowed attempt died with its node
+                release(jobName, runKey, partitionNo, "Lease expired on final attempt");
+                continue;
+            }
+
+            held.incrementAndGet();
+            try {
+                long processed = worker.process(runKey, fromId, toId);
+                int updated = jdbcTemplate.update(COMPLETE_SQL, processed, jobName, runKey, partitionNo, nodeId);
+                if (updated == 0) {
+                    log.warn("Job {} [{}]: lease on range {} [{}, {}) was lost before it completed",
+                        jobName, runKey, partitionNo, fromId, toId);
+                }
+                claimed++;
+                rows += processed;
+            } catch (RuntimeException e) {
+                log.error("Job {} [{}]: range {} [{}, {}) failed", jobName, runKey, partitionNo, fromId, toId, e);
+                release(jobName, runKey, partitionNo,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+                throw e;
+            } finally {
+                held.decrementAndGet();
+            }
+        }
+    }
+
+    private void release(String jobName, String runKey, int partitionNo, String error) {
+        jdbcTemplate.update(RELEASE_SQL, maxAttempts, error, jobName, runKey, partitionNo, nodeId);
+    }
+
+    private int createPartitions(String jobName, String runKey, int partitions) {
+        Integer created = transactionTemplate.execute(status -> {
+            // Serializes nodes firing the same run; the loser sees the winner's ranges
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", jobName + ":" + runKey);
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM job_partitions WHERE job_name = ? AND run_key = ?",
+                Integer.class, jobName, runKey);
+            if (existing != null && existing > 0) {
+                return existing;
+            }
+
+            // An empty table still gets one open range for members created later
+            long[] bounds = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), 0) FROM members",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+            long span = bounds[1] - bounds[0] + 1;
+            long partitionSize = Math.max((span + partitions - 1) / partitions, 1);
+            int count = (int) ((span + partitionSize - 1) / partitionSize);
+            jdbcTemplate.update(
+                "INSERT INTO job_partitions (job_name, run_key, partition_no, from_id, to_id, status) " +
+                "SELECT ?, ?, g, ? + g * ?, CASE WHEN g = ? - 1 THEN ? ELSE ? + (g + 1) * ? END, ? " +
+                "FROM generate_series(0, ? - 1) g",
+                jobName, runKey, bounds[0], partitionSize, count, Long.MAX_VALUE, bounds[0], partitionSize,
+                JobStatus.PENDING.name(), count);
+            log.info("Job {} [{}]: split members {}..{} into {} ranges", jobName, runKey, bounds[0], bounds[1], count);
+            return count;
+        });
+        return created != null ? created : 0;
+    }
+
+    private int countUnfinished(String jobName, String runKey) {
+        Integer unfinished = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM job_partitions WHERE job_name = ? AND run_key = ? AND status <> 'COMPLETED'",
+            Integer.class, jobName, runKey);
+        return unfinished != null ? unfinished : 0;
+    }
+
+    private PartitionWorker requireWorker(String jobName) {
+        PartitionWorker worker = workers.get(jobName);
+        if (worker == null) {
+            throw new IllegalStateException("No worker registered for job " + jobName);
+        }
+        return worker;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
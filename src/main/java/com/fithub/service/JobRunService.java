@@ -0,0 +1,61 @@
+package com.fithub.service;
+
+import com.fithub.model.JobRun;
+import com.fithub.model.JobStatus;
+import com.fithub.repository.JobRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records each run of a batch job in {@code job_runs}. Writes use their own transaction so a
+ * run stays visible even when the job's work rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobRunService {
+    private final JobRunRepository jobRunRepository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public JobRun start(String jobName) {
+        return jobRunRepository.save(JobRun.builder()
+            .jobName(jobName)
+            .status(JobStatus.RUNNING)
+            .rowsProcessed(0L)
+            .startedAt(LocalDateTime.now())
+            .build());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void complete(JobRun run, long rowsProcessed, String detail) {
+        finish(run, JobStatus.COMPLETED, rowsProcessed, detail, null);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void fail(JobRun run, long rowsProcessed, Exception error) {
+        finish(run, JobStatus.FAILED, rowsProcessed, null,
+            error.getMessage() != null ? error.getMessage() : error.getClass().getName());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobRun> getRuns(String jobName, Pageable pageable) {
+        return jobName != null
+            ? jobRunRepository.findByJobNameOrderByIdDesc(jobName, pageable)
+            : jobRunRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    private void finish(JobRun run, JobStatus status, long rowsProcessed, String detail, String error) {
+        jobRunRepository.findById(run.getId()).ifPresent(saved -> {
+            saved.setStatus(status);
+            saved.setRowsProcessed(rowsProcessed);
+            saved.setDetail(detail);
+            saved.setErrorMessage(error);
+            saved.setCompletedAt(LocalDateTime.now());
+        });
+    }
+}
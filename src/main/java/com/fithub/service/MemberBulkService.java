@@ -0,0 +1,195 @@
+package com.fithub.service;
+
+import com.fithub.dto.BulkMemberResponse;
+import com.fithub.dto.BulkMemberResult;
+import com.fithub.dto.MemberDTO;
+import com.fithub.model.Member;
+import com.fithub.model.MemberStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates and updates members in bulk. Ids for new members are taken from the members sequence
+ * in one round trip, so inserts can be batched (Hibernate cannot batch IDENTITY inserts), and each
+ * chunk commits on its own so one bad chunk does not undo the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MemberBulkService {
+    private static final String ALLOCATE_IDS_SQL =
+        "SELECT nextval(pg_get_serial_sequence('members', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL =
+        "INSERT INTO members (id, name, email, phone, membership_type, status, join_date, membership_expiry, photo) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+        "UPDATE members SET name = ?, email = ?, phone = ?, membership_type = ?, status = ?, " +
+        "membership_expiry = ?, photo = ? WHERE id = ?";
+
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheEvictor cacheEvictor;
+
+    @Value("${members.bulk.max-items:5000}")
+    private int maxItems;
+
+    @Value("${members.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Items without an id are created, items with an id update that member.
+     */
+    public BulkMemberResponse upsertMembers(List<MemberDTO> members) {
+        if (members.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " members per request");
+        }
+        BulkMemberResult[] results = new BulkMemberResult[members.size()];
+        List<Integer> valid = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            MemberDTO member = members.get(i);
+            Set<ConstraintViolation<MemberDTO>> violations = member != null ? validator.validate(member) : Set.of();
+            if (member == null) {
+                results[i] = new BulkMemberResult(i, null, BulkMemberResult.INVALID, List.of("Member is required"));
+            } else if (!violations.isEmpty()) {
+                results[i] = new BulkMemberResult(i, member.getId(), BulkMemberResult.INVALID,
+                    violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted().toList());
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(members, chunk, results));
+            } catch (Exception e) {
+                log.warn("Bulk member chunk of {} items failed", chunk.size(), e);
+                String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+                for (int index : chunk) {
+                    results[index] = new BulkMemberResult(index, members.get(index).getId(),
+                        BulkMemberResult.FAILED, List.of(error));
+                }
+            }
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (BulkMemberResult result : results) {
+            if (BulkMemberResult.CREATED.equals(result.status())) {
+                created++;
+            } else if (BulkMemberResult.UPDATED.equals(result.status())) {
+                updated++;
+            }
+        }
+        return new BulkMemberResponse(created, updated, results.length - created - updated, Arrays.asList(results));
+    }
+
+    private void writeChunk(List<MemberDTO> members, List<Integer> chunk, BulkMemberResult[] results) {
+        List<Integer> inserts = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int index : chunk) {
+            (members.get(index).getId() == null ? inserts : updates).add(index);
+        }
+
+        List<Member> written = new ArrayList<>(chunk.size());
+        if (!inserts.isEmpty()) {
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, inserts.size());
+            List<Member> created = new ArrayList<>(inserts.size());
+            for (int i = 0; i < inserts.size(); i++) {
+                Member member = toMember(members.get(inserts.get(i)));
+                member.setId(ids.get(i));
+                created.add(member);
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, created, created.size(), (ps, member) -> {
+                ps.setLong(1, member.getId());
+                setColumns(ps, 2, member);
+                ps.setDate(7, Date.valueOf(member.getJoinDate()));
+                ps.setDate(8, Date.valueOf(member.getMembershipExpiry()));
+                ps.setString(9, member.getPhoto());
+            });
+            for (int i = 0; i < inserts.size(); i++) {
+                results[inserts.get(i)] = new BulkMemberResult(inserts.get(i), created.get(i).getId(),
+                    BulkMemberResult.CREATED, List.of());
+            }
+            written.addAll(created);
+        }
+
+        if (!updates.isEmpty()) {
+            Set<Long> existing = existingIds(updates.stream().map(index -> members.get(index).getId()).toList());
+            List<Member> changed = new ArrayList<>(updates.size());
+            for (int index : updates) {
+                MemberDTO dto = members.get(index);
+                if (!existing.contains(dto.getId())) {
+                    results[index] = new BulkMemberResult(index, dto.getId(), BulkMemberResult.NOT_FOUND,
+                        List.of("Member not found"));
+                    continue;
+                }
+                Member member = toMember(dto);
+                member.setId(dto.getId());
+                changed.add(member);
+                results[index] = new BulkMemberResult(index, dto.getId(), BulkMemberResult.UPDATED, List.of());
+            }
+            jdbcTemplate.batchUpdate(UPDATE_SQL, changed, changed.size(), (ps, member) -> {
+                setColumns(ps, 1, member);
+                ps.setDate(6, Date.valueOf(member.getMembershipExpiry()));
+                ps.setString(7, member.getPhoto());
+                ps.setLong(8, member.getId());
+            });
+            written.addAll(changed);
+        }
+
+        cacheEvictor.evictMembers(written.stream().map(Member::getId).toList(), !inserts.isEmpty());
+    }
+
+    private Set<Long> existingIds(List<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id FROM members WHERE id = ANY(?)");
+            Array array = con.createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        }, rs -> {
+            existing.add(rs.getLong(1));
+        });
+        return existing;
+    }
+
+    // name, email, phone, membership_type, status starting at the given parameter index
+    private static void setColumns(PreparedStatement ps, int first, Member member) throws SQLException {
+        ps.setString(first, member.getName());
+        ps.setString(first + 1, member.getEmail());
+        ps.setString(first + 2, member.getPhone());
+        ps.setString(first + 3, member.getMembershipType().name());
+        ps.setString(first + 4, member.getStatus() != null ? member.getStatus().name() : null);
+    }
+
+    private static Member toMember(MemberDTO dto) {
+        return Member.builder()
+            .name(dto.getName())
+            .email(dto.getEmail())
+            .phone(dto.getPhone())
+            .membershipType(dto.getMembershipType())
+            .status(dto.getStatus() != null ? dto.getStatus() : MemberStatus.ACTIVE)
+            .joinDate(dto.getJoinDate())
+            .membershipExpiry(dto.getMembershipExpiry())
+            .photo(dto.getPhoto())
+            .build();
+    }
+}
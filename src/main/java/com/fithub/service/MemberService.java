@@ -1,21 +1,110 @@
 package com.fithub.service;
 
+import com.fithub.dto.CursorPage;
+import com.fithub.dto.InvalidCursorException;
 import com.fithub.dto.MemberDTO;
+import com.fithub.dto.MemberSearchResult;
 import com.fithub.model.Member;
 import com.fithub.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class MemberService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SCROLL_PAGE_SIZE = 500;
+    private static final LocalDate FIRST_DATE = LocalDate.of(1, 1, 1);
+
     private final MemberRepository memberRepository;
 
-    public Page<Member> getAllMembers(Pageable pageable) {
-        return memberRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<MemberDTO> getAllMembers(Pageable pageable) {
+        return memberRepository.findAll(pageable).map(MemberDTO::from);
+    }
+
+    /**
+     * Cursor-based listing ordered by {@code id} or {@code expiry}. Unlike {@link #getAllMembers}
+     * it never counts rows or skips with OFFSET, so every page costs the same.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MemberDTO> scrollMembers(String sortBy, String cursor, int size) {
+        Pageable page = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_SCROLL_PAGE_SIZE));
+        String[] position = cursor != null && !cursor.isBlank() ? CursorPage.decodeCursor(cursor, 3) : null;
+        if (position != null && !position[0].equals(sortBy)) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        long afterId = position != null ? CursorPage.parseId(position[2]) : 0;
+
+        List<Member> members;
+        switch (sortBy) {
+            case "id" -> members = memberRepository.findPageOrderById(afterId, page);
+            case "expiry" -> members = scrollByExpiry(position, afterId, page);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort key: " + sortBy);
+        }
+
+        String nextCursor = null;
+        if (members.size() == page.getPageSize()) {
+            Member last = members.get(members.size() - 1);
+            Object value = sortBy.equals("expiry") ? last.getMembershipExpiry() : last.getId();
+            nextCursor = CursorPage.encodeCursor(sortBy, value, last.getId());
+        }
+        return new CursorPage<>(members.stream().map(MemberDTO::from).toList(), nextCursor);
+    }
+
+    // Members without an expiry sort last (NULLS LAST); their cursor carries an empty date
+    private List<Member> scrollByExpiry(String[] position, long afterId, Pageable page) {
+        if (position != null && position[1].isEmpty()) {
+            return memberRepository.findPageWithoutMembershipExpiry(afterId, page);
+        }
+        List<Member> members = memberRepository.findPageOrderByMembershipExpiry(
+            position != null ? CursorPage.parseDate(position[1]) : FIRST_DATE, afterId, page);
+        if (members.size() < page.getPageSize()) {
+            members = new ArrayList<>(members);
+            members.addAll(memberRepository.findPageWithoutMembershipExpiry(
+                0L, PageRequest.of(0, page.getPageSize() - members.size())));
+        }
+        return members;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<MemberSearchResult> searchMembers(String search, String cursor, int size) {
+        if (search == null || search.isBlank()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        double afterRank = Double.MAX_VALUE;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorPage.decodeCursor(cursor, 2);
+            afterRank = Double.parseDouble(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+
+        List<MemberSearchResult> results = memberRepository.searchMembers(search, afterRank, afterId, limit);
+        String nextCursor = null;
+        if (results.size() == limit) {
+            MemberSearchResult last = results.get(results.size() - 1);
+            nextCursor = CursorPage.encodeCursor(last.rank(), last.id());
+        }
+        return new CursorPage<>(results, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public MemberDTO getMember(Long id) {
+        return memberRepository.findWithUserById(id)
+            .map(MemberDTO::from)
+            .orElseThrow(() -> new RuntimeException("Member not found"));
     }
 
     public Member getMemberById(Long id) {
@@ -24,7 +113,7 @@ public class MemberService {
     }
 
     @Transactional
-    public Member createMember(MemberDTO memberDTO) {
+    public MemberDTO createMember(MemberDTO memberDTO) {
         Member member = Member.builder()
             .name(memberDTO.getName())
             .email(memberDTO.getEmail())
@@ -36,11 +125,12 @@ public class MemberService {
             .photo(memberDTO.getPhoto())
             .build();
         
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        return MemberDTO.from(saved);
     }
 
     @Transactional
-    public Member updateMember(Long id, MemberDTO memberDTO) {
+    public MemberDTO updateMember(Long id, MemberDTO memberDTO) {
         Member member = getMemberById(id);
         
         member.setName(memberDTO.getName());
@@ -51,7 +141,8 @@ public class MemberService {
         member.setMembershipExpiry(memberDTO.getMembershipExpiry());
         member.setPhoto(memberDTO.getPhoto());
         
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        return MemberDTO.from(saved);
     }
 
     @Transactional
@@ -0,0 +1,103 @@
+package com.fithub.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Live head count per facility area, counted from the open visits in the attendance table so
+ * every node reports the visits made through all of them. Subscribers get at most one snapshot
+ * per broadcast interval, and only when it changed; the count is one query per interval on each
+ * node that has subscribers, however busy the turnstiles are.
+ */
+@Service
+@Slf4j
+public class OccupancyService {
+    // Served by the partial index on open visits; rows from before facility areas default to gym
+    private static final String OCCUPANCY_SQL =
+        "SELECT COALESCE(facility_area, 'gym'), COUNT(*) FROM attendance " +
+        "WHERE check_out IS NULL GROUP BY 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Duration emitterTimeout;
+    private volatile Map<String, Long> lastBroadcast = Map.of();
+
+    public OccupancyService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${occupancy.sse.timeout:PT30M}") Duration emitterTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        jdbcTemplate.query(OCCUPANCY_SQL, rs -> {
+            snapshot.put(rs.getString(1), rs.getLong(2));
+        });
+        return snapshot;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        try {
+            emitter.send(SseEmitter.event().name("occupancy").data(snapshot(), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    @Scheduled(fixedDelayString = "${occupancy.sse.broadcast-interval:PT1S}")
+    public void broadcast() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Map<String, Long> snapshot = snapshot();
+        if (snapshot.equals(lastBroadcast)) {
+            return;
+        }
+        lastBroadcast = snapshot;
+        send(SseEmitter.event().name("occupancy").data(snapshot, MediaType.APPLICATION_JSON));
+    }
+
+    // Keeps idle connections open through proxies that drop silent streams
+    @Scheduled(fixedDelayString = "${occupancy.sse.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (!emitters.isEmpty()) {
+            send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping occupancy subscriber: {}", e.getMessage());
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fithub.service;
+
+import com.fithub.model.JobRun;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.ReminderOutbox;
+import com.fithub.model.ReminderType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves pending payments past their due date to OVERDUE. Each chunk is a single
+ * {@code UPDATE ... RETURNING}, so no payment entity is loaded, and the returned rows feed the
+ * reminder outbox and the stats rollup in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OverduePaymentService {
+    public static final String JOB_NAME = "overdue-payments";
+
+    // SKIP LOCKED leaves rows a user is editing for the next run instead of waiting on them
+    private static final String MARK_OVERDUE_SQL =
+        "WITH due AS (" +
+        "  SELECT id FROM payments WHERE status = 'PENDING' AND due_date < ? LIMIT ? FOR UPDATE SKIP LOCKED" +
+        ") " +
+        "UPDATE payments p SET status = 'OVERDUE' FROM due WHERE p.id = due.id " +
+        "RETURNING p.id, p.member_id, p.due_date, p.type, p.amount";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReminderOutboxService outboxService;
+    private final PaymentStatsService statsService;
+    private final JobRunService jobRunService;
+
+    @Value("${payments.overdue.chunk-size:5000}")
+    private int chunkSize;
+
+    private record OverduePayment(long id, Long memberId, LocalDate dueDate, String type, BigDecimal amount) {
+    }
+
+    @Scheduled(cron = "${payments.overdue.cron:0 15 0 * * *}")
+    public void markOverduePayments() {
+        LocalDate today = LocalDate.now();
+        JobRun run = jobRunService.start(JOB_NAME);
+        long started = System.nanoTime();
+        long transitioned = 0;
+        int chunks = 0;
+        int reminders = 0;
+        try {
+            while (true) {
+                int[] enqueued = {0};
+                List<OverduePayment> chunk = transactionTemplate.execute(status -> {
+                    List<OverduePayment> rows = jdbcTemplate.query(MARK_OVERDUE_SQL, (rs, rowNum) -> new OverduePayment(
+                        rs.getLong(1), (Long) rs.getObject(2), rs.getDate(3).toLocalDate(), rs.getString(4),
+                        rs.getBigDecimal(5)), Date.valueOf(today), chunkSize);
+                    enqueued[0] = outboxService.enqueue(reminderEntries(rows));
+                    applyStats(rows);
+                    return rows;
+                });
+                transitioned += chunk.size();
+                reminders += enqueued[0];
+                chunks++;
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            String detail = String.format("chunks=%d, reminders=%d, elapsedMs=%d", chunks, reminders, elapsedMs);
+            jobRunService.complete(run, transitioned, detail);
+            log.info("Marked {} payments overdue ({})", transitioned, detail);
+        } catch (Exception e) {
+            log.error("Overdue payment sweep failed after {} payments", transitioned, e);
+            jobRunService.fail(run, transitioned, e);
+        }
+    }
+
+    private List<ReminderOutbox> reminderEntries(List<OverduePayment> rows) {
+        List<ReminderOutbox> entries = new ArrayList<>(rows.size() * 2);
+        for (OverduePayment row : rows) {
+            if (row.memberId() == null) {
+                continue;
+            }
+            entries.add(outboxService.paymentOverdueEntry(row.id(), row.memberId(), row.dueDate(), ReminderType.EMAIL));
+            entries.add(outboxService.paymentOverdueEntry(row.id(), row.memberId(), row.dueDate(), ReminderType.WHATSAPP));
+        }
+        return entries;
+    }
+
+    // Every returned row moved from PENDING to OVERDUE within its (due date, type) bucket
+    private void applyStats(List<OverduePayment> rows) {
+        Map<List<Object>, BigDecimal[]> buckets = new HashMap<>();
+        for (OverduePayment row : rows) {
+            BigDecimal[] totals = buckets.computeIfAbsent(List.of(row.dueDate(),
+                    row.type() != null ? row.type() : PaymentStatsService.NO_TYPE),
+                key -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            totals[0] = totals[0].add(BigDecimal.ONE);
+            totals[1] = totals[1].add(row.amount() != null ? row.amount() : BigDecimal.ZERO);
+        }
+        buckets.forEach((key, totals) -> {
+            LocalDate dueDate = (LocalDate) key.get(0);
+            String type = (String) key.get(1);
+            long count = totals[0].longValue();
+            statsService.applyDelta(dueDate, PaymentStatus.PENDING.name(), type, -count, totals[1].negate());
+            statsService.applyDelta(dueDate, PaymentStatus.OVERDUE.name(), type, count, totals[1]);
+        });
+    }
+}
@@ -0,0 +1,230 @@
+package com.fithub.service;
+
+import com.fithub.model.ExportFormat;
+import com.fithub.model.JobStatus;
+import com.fithub.model.PaymentExport;
+import com.fithub.model.PaymentStatus;
+import com.fithub.repository.PaymentExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs payment exports in the background. Rows are read through a forward-only cursor and
+ * written straight to disk, so memory use does not grow with the number of payments.
+ *
+ * <p>Files go to {@code exports.dir}, which must be storage every node mounts when several serve
+ * the API: the download can reach a different node than the one that ran the export. The stored
+ * path is relative to that directory, and a file only appears under its final name once complete.
+ */
+@Service
+@Slf4j
+public class PaymentExportService {
+    private static final String EXPORT_SQL =
+        "SELECT p.id, p.member_id, m.name, m.email, p.amount, p.due_date, p.payment_date, " +
+        "p.status, p.type, p.description " +
+        "FROM payments p LEFT JOIN members m ON m.id = p.member_id";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final PaymentExportRepository exportRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate progressTransaction;
+    private final Path exportDir;
+    private final int progressInterval;
+
+    @Value("${exports.retention:P7D}")
+    private Duration retention;
+
+    public PaymentExportService(
+            PaymentExportRepository exportRepository,
+            @Qualifier("paymentExportExecutor") ThreadPoolTaskExecutor executor,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${exports.dir:./exports}") String exportDir,
+            @Value("${exports.fetch-size:2000}") int fetchSize,
+            @Value("${exports.progress-interval:10000}") int progressInterval) {
+        this.exportRepository = exportRepository;
+        this.executor = executor;
+        // The Postgres driver only streams with a fetch size set inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.progressTransaction = new TransactionTemplate(transactionManager);
+        this.progressTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.exportDir = Paths.get(exportDir);
+        this.progressInterval = progressInterval;
+    }
+
+    public PaymentExport requestExport(ExportFormat format, LocalDate from, LocalDate to,
+                                       PaymentStatus paymentStatus, Long userId) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Export range ends before it starts");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        PaymentExport export = exportRepository.save(PaymentExport.builder()
+            .fileName("payments-" + FILE_TIMESTAMP.format(now) + "." + format.name().toLowerCase())
+            .exportedBy(userId)
+            .format(format)
+            .dateRangeStart(from)
+            .dateRangeEnd(to)
+            .paymentStatus(paymentStatus)
+            .totalRecords(0)
+            .status(JobStatus.PENDING)
+            .createdAt(now)
+            .build());
+        try {
+            executor.execute(() -> runExport(export.getId()));
+        } catch (TaskRejectedException e) {
+            fail(export.getId(), "Too many exports queued, try again later");
+            throw new RuntimeException("Too many exports queued, try again later");
+        }
+        return export;
+    }
+
+    public PaymentExport getExport(Long id) {
+        return exportRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Export not found"));
+    }
+
+    public Page<PaymentExport> getExports(Pageable pageable) {
+        return exportRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    /**
+     * Returns the file of a completed export.
+     */
+    public Path getExportFile(PaymentExport export) {
+        if (export.getStatus() != JobStatus.COMPLETED || export.getFilePath() == null) {
+            throw new RuntimeException("Export is not ready");
+        }
+        // Exports from before relative paths were stored hold an absolute path, which resolve() keeps
+        Path file = exportDir.resolve(export.getFilePath());
+        if (!Files.isReadable(file)) {
+            throw new RuntimeException("Export file no longer exists");
+        }
+        return file;
+    }
+
+    @Scheduled(cron = "${exports.cleanup-cron:0 0 3 * * *}")
+    public void deleteExpiredExports() {
+        for (PaymentExport export : exportRepository.findByCreatedAtBefore(LocalDateTime.now().minus(retention))) {
+            try {
+                if (export.getFilePath() != null) {
+                    Files.deleteIfExists(exportDir.resolve(export.getFilePath()));
+                }
+                exportRepository.delete(export);
+            } catch (IOException e) {
+                log.warn("Could not delete export file {}", export.getFilePath(), e);
+            }
+        }
+    }
+
+    private void runExport(Long exportId) {
+        PaymentExport export = getExport(exportId);
+        String fileName = "payment-export-" + exportId + "." + export.getFormat().name().toLowerCase();
+        Path file = exportDir.resolve(fileName + ".part");
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(exportDir);
+            update(exportId, e -> e.setStatus(JobStatus.RUNNING));
+
+            List<Object> args = new ArrayList<>();
+            String sql = exportQuery(export, args);
+            int[] written = {0};
+            try (PaymentExportWriter writer = PaymentExportWriter.open(export.getFormat(), file)) {
+                readTransaction.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(sql, rs -> {
+                        try {
+                            writer.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        if (++written[0] % progressInterval == 0) {
+                            int count = written[0];
+                            update(exportId, e -> e.setTotalRecords(count));
+                        }
+                    }, args.toArray()));
+            }
+
+            long size = Files.size(file);
+            Files.move(file, exportDir.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            update(exportId, e -> {
+                e.setStatus(JobStatus.COMPLETED);
+                e.setFilePath(fileName);
+                e.setTotalRecords(written[0]);
+                e.setFileSize(size);
+                e.setDownloadUrl("/api/payments/exports/" + exportId + "/download");
+                e.setCompletedAt(LocalDateTime.now());
+            });
+            log.info("Export {} wrote {} payments ({} bytes) in {} ms",
+                exportId, written[0], size, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Export {} failed", exportId, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // The cleanup job removes it later
+            }
+            fail(exportId, e.getMessage());
+        }
+    }
+
+    private String exportQuery(PaymentExport export, List<Object> args) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL).append(" WHERE 1 = 1");
+        if (export.getDateRangeStart() != null) {
+            sql.append(" AND p.due_date >= ?");
+            args.add(Date.valueOf(export.getDateRangeStart()));
+        }
+        if (export.getDateRangeEnd() != null) {
+            sql.append(" AND p.due_date <= ?");
+            args.add(Date.valueOf(export.getDateRangeEnd()));
+        }
+        if (export.getPaymentStatus() != null) {
+            sql.append(" AND p.status = ?");
+            args.add(export.getPaymentStatus().name());
+        }
+        return sql.append(" ORDER BY p.id").toString();
+    }
+
+    private void fail(Long exportId, String message) {
+        update(exportId, e -> {
+            e.setStatus(JobStatus.FAILED);
+            e.setErrorMessage(message);
+            e.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    // Progress is committed on its own so it is visible while the export is still reading
+    private void update(Long exportId, Consumer<PaymentExport> change) {
+        progressTransaction.executeWithoutResult(status -> exportRepository.findById(exportId).ifPresent(change));
+    }
+}
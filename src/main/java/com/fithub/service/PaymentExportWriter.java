@@ -0,0 +1,185 @@
+package com.fithub.service;
+
+import com.fithub.model.ExportFormat;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Writes export rows straight to a file. Both formats hold only a bounded window of rows in
+ * memory, whatever the export size.
+ */
+interface PaymentExportWriter extends Closeable {
+    String[] HEADER = {
+        "Payment ID", "Member ID", "Member Name", "Member Email", "Amount",
+        "Due Date", "Payment Date", "Status", "Type", "Description"
+    };
+
+    /**
+     * Writes the current row of a result set selected with {@link PaymentExportService}'s export query.
+     */
+    void write(ResultSet rs) throws SQLException, IOException;
+
+    static PaymentExportWriter open(ExportFormat format, Path file) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(file);
+            case XLSX -> new Xlsx(file);
+        };
+    }
+
+    private static LocalDate localDate(ResultSet rs, int column) throws SQLException {
+        java.sql.Date date = rs.getDate(column);
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    final class Csv implements PaymentExportWriter {
+        private final Writer out;
+
+        Csv(Path file) throws IOException {
+            this.out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine(HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            BigDecimal amount = rs.getBigDecimal(5);
+            LocalDate dueDate = localDate(rs, 6);
+            LocalDate paymentDate = localDate(rs, 7);
+            writeLine(new String[] {
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                amount != null ? amount.toPlainString() : null,
+                dueDate != null ? dueDate.toString() : null,
+                paymentDate != null ? paymentDate.toString() : null,
+                rs.getString(8), rs.getString(9), rs.getString(10)
+            });
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeValue(values[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * An XLSX sheet holds at most 1,048,576 rows, so larger exports continue on further sheets
+     * named "Payments 2", "Payments 3" and so on, each with its own header row.
+     */
+    final class Xlsx implements PaymentExportWriter {
+        // Rows kept in memory before SXSSF flushes them to its temp file
+        private static final int ROW_WINDOW = 200;
+        private static final int LAST_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+        private final Path file;
+        private final SXSSFWorkbook workbook;
+        private final CellStyle dateStyle;
+        private Sheet sheet;
+        private int rowIndex;
+
+        Xlsx(Path file) {
+            this.file = file;
+            this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+            this.dateStyle = workbook.createCellStyle();
+            this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            startSheet();
+        }
+
+        private void startSheet() {
+            int number = workbook.getNumberOfSheets() + 1;
+            sheet = workbook.createSheet(number == 1 ? "Payments" : "Payments " + number);
+            rowIndex = 0;
+            Row header = sheet.createRow(rowIndex++);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            if (rowIndex > LAST_ROW_INDEX) {
+                startSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(rs.getLong(1));
+            long memberId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                row.createCell(1).setCellValue(memberId);
+            }
+            setString(row, 2, rs.getString(3));
+            setString(row, 3, rs.getString(4));
+            BigDecimal amount = rs.getBigDecimal(5);
+            if (amount != null) {
+                row.createCell(4).setCellValue(amount.doubleValue());
+            }
+            setDate(row, 5, localDate(rs, 6));
+            setDate(row, 6, localDate(rs, 7));
+            setString(row, 7, rs.getString(8));
+            setString(row, 8, rs.getString(9));
+            setString(row, 9, rs.getString(10));
+        }
+
+        private void setString(Row row, int column, String value) {
+            if (value != null) {
+                row.createCell(column).setCellValue(value);
+            }
+        }
+
+        private void setDate(Row row, int column, LocalDate value) {
+            if (value != null) {
+                var cell = row.createCell(column);
+                cell.setCellValue(value);
+                cell.setCellStyle(dateStyle);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.fithub.service;
+
+import com.fithub.model.JobStatus;
+import com.fithub.model.PaymentImport;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import com.fithub.repository.PaymentImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Array;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports payments from CSV files in the background. The file is read one record at a time and
+ * written in chunks: member references are resolved with one query per chunk and rows go in
+ * through a JDBC batch (rewritten into multi-row inserts by the driver).
+ *
+ * <p>Expected header columns: {@code member_id} or {@code member_email}, {@code amount},
+ * {@code due_date}, and optionally {@code payment_date}, {@code status}, {@code type},
+ * {@code description}.
+ */
+@Service
+@Slf4j
+public class PaymentImportService {
+    private static final String INSERT_SQL =
+        "INSERT INTO payments (member_id, amount, due_date, payment_date, status, type, description) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String PROGRESS_SQL =
+        "UPDATE payment_imports SET total_records = ?, successful_records = ?, failed_records = ?, " +
+        "error_log = ? WHERE id = ?";
+    private static final int MAX_LOGGED_ERRORS = 1000;
+    // payments.amount is DECIMAL(10,2)
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("100000000");
+
+    private final PaymentImportRepository importRepository;
+    private final PaymentStatsService statsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path importDir;
+    private final int chunkSize;
+
+    public PaymentImportService(
+            PaymentImportRepository importRepository,
+            PaymentStatsService statsService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("paymentImportExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${imports.dir:./imports}") String importDir,
+            @Value("${imports.chunk-size:5000}") int chunkSize) {
+        this.importRepository = importRepository;
+        this.statsService = statsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.importDir = Paths.get(importDir);
+        this.chunkSize = chunkSize;
+    }
+
+    public PaymentImport requestImport(MultipartFile file, Long userId) throws IOException {
+        Files.createDirectories(importDir);
+        Path target = importDir.resolve(UUID.randomUUID() + ".csv");
+        file.transferTo(target);
+
+        PaymentImport paymentImport = importRepository.save(PaymentImport.builder()
+            .fileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : target.getFileName().toString())
+            .filePath(target.toAbsolutePath().toString())
+            .importedBy(userId)
+            .totalRecords(0)
+            .successfulRecords(0)
+            .failedRecords(0)
+            .status(JobStatus.PENDING)
+            .startedAt(LocalDateTime.now())
+            .build());
+        try {
+            executor.execute(() -> runImport(paymentImport.getId()));
+        } catch (TaskRejectedException e) {
+            Files.deleteIfExists(target);
+            finish(paymentImport.getId(), JobStatus.FAILED, null, "Too many imports queued, try again later");
+            throw new RuntimeException("Too many imports queued, try again later");
+        }
+        return paymentImport;
+    }
+
+    public PaymentImport getImport(Long id) {
+        return importRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Import not found"));
+    }
+
+    public Page<PaymentImport> getImports(Pageable pageable) {
+        return importRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    private void runImport(Long importId) {
+        PaymentImport paymentImport = getImport(importId);
+        Path file = Paths.get(paymentImport.getFilePath());
+        Progress progress = new Progress();
+        long started = System.nanoTime();
+        jdbcTemplate.update("UPDATE payment_imports SET status = ? WHERE id = ?", JobStatus.RUNNING.name(), importId);
+
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("File is empty");
+            }
+            Columns columns = Columns.of(header);
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                progress.total++;
+                try {
+                    chunk.add(columns.parse(record, reader.getRecordLine()));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    progress.fail(reader.getRecordLine(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                    jdbcTemplate.update(PROGRESS_SQL, progress.total, progress.succeeded, progress.failed,
+                        progress.errorLog(), importId);
+                }
+            }
+            writeChunk(chunk, progress);
+
+            finish(importId, JobStatus.COMPLETED, progress, null);
+            log.info("Import {} finished: {} rows, {} imported, {} failed in {} ms", importId,
+                progress.total, progress.succeeded, progress.failed, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Import {} failed", importId, e);
+            finish(importId, JobStatus.FAILED, progress, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void writeChunk(List<Row> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> resolved = resolveMembers(chunk, progress);
+        if (!resolved.isEmpty()) {
+            insert(resolved, progress);
+        }
+    }
+
+    // A rejected batch is split in halves until the rows the database refuses are isolated, so
+    // they are reported by line and the rest of the chunk is still imported
+    private void insert(List<Row> rows, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.memberId);
+                    ps.setBigDecimal(2, row.amount);
+                    ps.setDate(3, Date.valueOf(row.dueDate));
+                    ps.setDate(4, row.paymentDate != null ? Date.valueOf(row.paymentDate) : null);
+                    ps.setString(5, row.status.name());
+                    ps.setString(6, row.type != null ? row.type.name() : null);
+                    ps.setString(7, row.description);
+                });
+                applyStats(rows);
+            });
+            progress.succeeded += rows.size();
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            // The database is unavailable, not refusing these rows; fail the import instead of every row
+            throw e;
+        } catch (Exception e) {
+            if (rows.size() == 1) {
+                progress.fail(rows.get(0).line, "Rejected by the database: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            log.debug("Import batch at lines {}-{} failed, splitting", rows.get(0).line,
+                rows.get(rows.size() - 1).line, e);
+            int middle = rows.size() / 2;
+            insert(rows.subList(0, middle), progress);
+            insert(rows.subList(middle, rows.size()), progress);
+        }
+    }
+
+    // One query per chunk for ids and one for emails, instead of a lookup per row
+    private List<Row> resolveMembers(List<Row> chunk, Progress progress) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.memberId != null) {
+                ids.add(row.memberId);
+            } else {
+                emails.add(row.memberEmail);
+            }
+        }
+        Set<Long> knownIds = new HashSet<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement("SELECT id FROM members WHERE id = ANY(?)");
+                Array array = con.createArrayOf("bigint", ids.toArray());
+                ps.setArray(1, array);
+                return ps;
+            }, rs -> {
+                knownIds.add(rs.getLong(1));
+            });
+        }
+        Map<String, Long> idsByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement("SELECT id, lower(email) FROM members WHERE lower(email) = ANY(?)");
+                ps.setArray(1, con.createArrayOf("varchar", emails.toArray()));
+                return ps;
+            }, rs -> {
+                idsByEmail.putIfAbsent(rs.getString(2), rs.getLong(1));
+            });
+        }
+
+        List<Row> resolved = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.memberId == null) {
+                row.memberId = idsByEmail.get(row.memberEmail);
+                if (row.memberId == null) {
+                    progress.fail(row.line, "Unknown member email " + row.memberEmail);
+                    continue;
+                }
+            } else if (!knownIds.contains(row.memberId)) {
+                progress.fail(row.line, "Unknown member id " + row.memberId);
+                continue;
+            }
+            resolved.add(row);
+        }
+        return resolved;
+    }
+
+    private void applyStats(List<Row> rows) {
+        Map<List<Object>, BigDecimal[]> buckets = new HashMap<>();
+        for (Row row : rows) {
+            List<Object> key = List.of(row.dueDate, row.status.name(),
+                row.type != null ? row.type.name() : PaymentStatsService.NO_TYPE);
+            BigDecimal[] totals = buckets.computeIfAbsent(key, k -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            totals[0] = totals[0].add(BigDecimal.ONE);
+            totals[1] = totals[1].add(row.amount);
+        }
+        buckets.forEach((key, totals) -> statsService.applyDelta(
+            (LocalDate) key.get(0), (String) key.get(1), (String) key.get(2), totals[0].longValue(), totals[1]));
+    }
+
+    private void finish(Long importId, JobStatus status, Progress progress, String error) {
+        transactionTemplate.executeWithoutResult(tx -> importRepository.findById(importId).ifPresent(paymentImport -> {
+            paymentImport.setStatus(status);
+            paymentImport.setCompletedAt(LocalDateTime.now());
+            if (progress != null) {
+                paymentImport.setTotalRecords(progress.total);
+                paymentImport.setSuccessfulRecords(progress.succeeded);
+                paymentImport.setFailedRecords(progress.failed);
+                if (error != null) {
+                    progress.errors.append("Import aborted: ").append(error).append('\n');
+                }
+                paymentImport.setErrorLog(progress.errorLog());
+            } else {
+                paymentImport.setErrorLog(error);
+            }
+        }));
+    }
+
+    private static final class Progress {
+        int total;
+        int succeeded;
+        int failed;
+        int logged;
+        final StringBuilder errors = new StringBuilder();
+
+        void fail(long line, String message) {
+            failed++;
+            if (logged++ < MAX_LOGGED_ERRORS) {
+                errors.append("Line ").append(line).append(": ").append(message).append('\n');
+            }
+        }
+
+        String errorLog() {
+            if (logged > MAX_LOGGED_ERRORS) {
+                return errors + "... " + (logged - MAX_LOGGED_ERRORS) + " more errors not shown\n";
+            }
+            return errors.length() > 0 ? errors.toString() : null;
+        }
+    }
+
+    private static final class Row {
+        long line;
+        Long memberId;
+        String memberEmail;
+        BigDecimal amount;
+        LocalDate dueDate;
+        LocalDate paymentDate;
+        PaymentStatus status;
+        PaymentType type;
+        String description;
+    }
+
+    private record Columns(int memberId, int memberEmail, int amount, int dueDate, int paymentDate,
+                           int status, int type, int description) {
+        static Columns of(List<String> header) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+                // Excel-written files start with a byte order mark
+                positions.put(name.startsWith("\uFEFF") ? name.substring(1) : name, i);
+            }
+            Columns columns = new Columns(
+                positions.getOrDefault("member_id", -1), positions.getOrDefault("member_email", -1),
+                positions.getOrDefault("amount", -1), positions.getOrDefault("due_date", -1),
+                positions.getOrDefault("payment_date", -1), positions.getOrDefault("status", -1),
+                positions.getOrDefault("type", -1), positions.getOrDefault("description", -1));
+            if (columns.memberId < 0 && columns.memberEmail < 0) {
+                throw new IllegalArgumentException("Header needs a member_id or member_email column");
+            }
+            if (columns.amount < 0 || columns.dueDate < 0) {
+                throw new IllegalArgumentException("Header needs amount and due_date columns");
+            }
+            return columns;
+        }
+
+        Row parse(List<String> record, long line) {
+            Row row = new Row();
+            row.line = line;
+            String memberIdValue = value(record, memberId);
+            if (memberIdValue != null) {
+                try {
+                    row.memberId = Long.parseLong(memberIdValue);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid member id " + memberIdValue);
+                }
+            } else {
+                row.memberEmail = value(record, memberEmail);
+                if (row.memberEmail == null) {
+                    throw new IllegalArgumentException("Member id or email is required");
+                }
+                row.memberEmail = row.memberEmail.toLowerCase(Locale.ROOT);
+            }
+
+            String amountValue = value(record, amount);
+            if (amountValue == null) {
+                throw new IllegalArgumentException("Amount is required");
+            }
+            try {
+                row.amount = new BigDecimal(amountValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount " + amountValue);
+            }
+            if (row.amount.signum() <= 0 || row.amount.scale() > 2) {
+                throw new IllegalArgumentException("Amount must be positive with at most two decimals");
+            }
+            if (row.amount.compareTo(MAX_AMOUNT) >= 0) {
+                throw new IllegalArgumentException("Amount must be less than " + MAX_AMOUNT.toPlainString());
+            }
+
+            String dueDateValue = value(record, dueDate);
+            if (dueDateValue == null) {
+                throw new IllegalArgumentException("Due date is required");
+            }
+            row.dueDate = LocalDate.parse(dueDateValue);
+            String paymentDateValue = value(record, paymentDate);
+            row.paymentDate = paymentDateValue != null ? LocalDate.parse(paymentDateValue) : null;
+
+            String statusValue = value(record, status);
+            String typeValue = value(record, type);
+            try {
+                row.status = statusValue != null
+                    ? PaymentStatus.valueOf(statusValue.toUpperCase(Locale.ROOT))
+                    : PaymentStatus.PENDING;
+                row.type = typeValue != null ? PaymentType.valueOf(typeValue.toUpperCase(Locale.ROOT)) : null;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown status or type: " + statusValue + ", " + typeValue);
+            }
+            row.description = value(record, description);
+            return row;
+        }
+
+        private static String value(List<String> record, int index) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -1,32 +1,115 @@
 package com.fithub.service;
 
+import com.fithub.dto.CursorPage;
+import com.fithub.dto.InvalidCursorException;
 import com.fithub.dto.PaymentDTO;
+import com.fithub.dto.PaymentSearchCriteria;
+import com.fithub.dto.PaymentStats;
+import com.fithub.dto.PaymentSummary;
 import com.fithub.model.Member;
 import com.fithub.model.Payment;
 import com.fithub.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SCROLL_PAGE_SIZE = 500;
+    private static final LocalDate FIRST_DATE = LocalDate.of(1, 1, 1);
+
     private final PaymentRepository paymentRepository;
     private final MemberService memberService;
+    private final PaymentStatsService statsService;
+
+    @Transactional(readOnly = true)
+    public Page<PaymentDTO> getAllPayments(Pageable pageable) {
+        return paymentRepository.findAll(pageable).map(PaymentDTO::from);
+    }
+
+    /**
+     * Cursor-based listing ordered by {@code id} or {@code dueDate}. Unlike {@link #getAllPayments}
+     * it never counts rows or skips with OFFSET, so every page costs the same.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDTO> scrollPayments(String sortBy, String cursor, int size) {
+        Pageable page = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_SCROLL_PAGE_SIZE));
+        String[] position = cursor != null && !cursor.isBlank() ? CursorPage.decodeCursor(cursor, 3) : null;
+        if (position != null && !position[0].equals(sortBy)) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        long afterId = position != null ? CursorPage.parseId(position[2]) : 0;
+
+        List<Payment> payments;
+        switch (sortBy) {
+            case "id" -> payments = paymentRepository.findPageOrderById(afterId, page);
+            case "dueDate" -> payments = scrollByDueDate(position, afterId, page);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort key: " + sortBy);
+        }
+
+        String nextCursor = null;
+        if (payments.size() == page.getPageSize()) {
+            Payment last = payments.get(payments.size() - 1);
+            Object value = sortBy.equals("dueDate") ? last.getDueDate() : last.getId();
+            nextCursor = CursorPage.encodeCursor(sortBy, value, last.getId());
+        }
+        return new CursorPage<>(payments.stream().map(PaymentDTO::from).toList(), nextCursor);
+    }
 
-    public Page<Payment> getAllPayments(Pageable pageable) {
-        return paymentRepository.findAll(pageable);
+    // Payments without a due date sort last (NULLS LAST); their cursor carries an empty date
+    private List<Payment> scrollByDueDate(String[] position, long afterId, Pageable page) {
+        if (position != null && position[1].isEmpty()) {
+            return paymentRepository.findPageWithoutDueDate(afterId, page);
+        }
+        List<Payment> payments = paymentRepository.findPageOrderByDueDate(
+            position != null ? CursorPage.parseDate(position[1]) : FIRST_DATE, afterId, page);
+        if (payments.size() < page.getPageSize()) {
+            payments = new ArrayList<>(payments);
+            payments.addAll(paymentRepository.findPageWithoutDueDate(
+                0L, PageRequest.of(0, page.getPageSize() - payments.size())));
+        }
+        return payments;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentSummary> searchPayments(PaymentSearchCriteria criteria, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            beforeId = Long.parseLong(CursorPage.decodeCursor(cursor, 1)[0]);
+        }
+
+        List<PaymentSummary> results = paymentRepository.searchPayments(criteria, beforeId, limit);
+        String nextCursor = results.size() == limit
+            ? CursorPage.encodeCursor(results.get(results.size() - 1).id())
+            : null;
+        return new CursorPage<>(results, nextCursor);
     }
 
+    @Transactional(readOnly = true)
+    public PaymentDTO getPayment(Long id) {
+        return PaymentDTO.from(getPaymentById(id));
+    }
+
+    // Loads the payment together with its member
     public Payment getPaymentById(Long id) {
-        return paymentRepository.findById(id)
+        return paymentRepository.findWithMemberById(id)
             .orElseThrow(() -> new RuntimeException("Payment not found"));
     }
 
     @Transactional
-    public Payment createPayment(PaymentDTO paymentDTO) {
+    public PaymentDTO createPayment(PaymentDTO paymentDTO) {
         Member member = memberService.getMemberById(paymentDTO.getMemberId());
         
         Payment payment = Payment.builder()
@@ -38,12 +121,15 @@ public class PaymentService {
             .description(paymentDTO.getDescription())
             .build();
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        statsService.recordCreated(saved);
+        return PaymentDTO.from(saved);
     }
 
     @Transactional
-    public Payment updatePayment(Long id, PaymentDTO paymentDTO) {
+    public PaymentDTO updatePayment(Long id, PaymentDTO paymentDTO) {
         Payment payment = getPaymentById(id);
+        PaymentStatsService.Snapshot before = PaymentStatsService.Snapshot.of(payment);
         
         payment.setAmount(paymentDTO.getAmount());
         payment.setDueDate(paymentDTO.getDueDate());
@@ -55,15 +141,29 @@ public class PaymentService {
             payment.setPaymentDate(paymentDTO.getPaymentDate());
         }
         
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        statsService.recordUpdated(before, saved);
+        return PaymentDTO.from(saved);
     }
 
     @Transactional
     public void deletePayment(Long id) {
-        paymentRepository.deleteById(id);
+        paymentRepository.findById(id).ifPresent(payment -> {
+            statsService.recordDeleted(PaymentStatsService.Snapshot.of(payment));
+            paymentRepository.delete(payment);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentStats getStats(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Stats range ends before it starts");
+        }
+        return statsService.getStats(from, to);
     }
 
-    public Page<Payment> getMemberPayments(Long memberId, Pageable pageable) {
-        return paymentRepository.findByMemberId(memberId, pageable);
+    @Transactional(readOnly = true)
+    public Page<PaymentDTO> getMemberPayments(Long memberId, Pageable pageable) {
+        return paymentRepository.findByMemberId(memberId, pageable).map(PaymentDTO::from);
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.fithub.service;
+
+import com.fithub.dto.PaymentDailyStat;
+import com.fithub.dto.PaymentStats;
+import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the {@code payment_daily_stats} rollup (payments bucketed by due date, status and
+ * type) so dashboard totals cost one row per bucket instead of a scan over payments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentStatsService {
+    static final String NO_TYPE = "NONE";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO payment_daily_stats (stat_date, status, type, payment_count, total_amount, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (stat_date, status, type) DO UPDATE SET " +
+        "payment_count = payment_daily_stats.payment_count + EXCLUDED.payment_count, " +
+        "total_amount = payment_daily_stats.total_amount + EXCLUDED.total_amount, " +
+        "updated_at = EXCLUDED.updated_at";
+    private static final String SELECT_RANGE_SQL =
+        "SELECT stat_date, status, type, payment_count, total_amount FROM payment_daily_stats " +
+        "WHERE stat_date BETWEEN ? AND ? AND payment_count <> 0 ORDER BY stat_date, status, type";
+    private static final String REBUILD_SQL =
+        "INSERT INTO payment_daily_stats (stat_date, status, type, payment_count, total_amount, updated_at) " +
+        "SELECT due_date, status, COALESCE(type, '" + NO_TYPE + "'), COUNT(*), COALESCE(SUM(amount), 0), CURRENT_TIMESTAMP " +
+        "FROM payments WHERE due_date IS NOT NULL AND status IS NOT NULL " +
+        "GROUP BY due_date, status, COALESCE(type, '" + NO_TYPE + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The rollup-relevant part of a payment, captured before it is modified.
+     */
+    public record Snapshot(LocalDate dueDate, PaymentStatus status, PaymentType type, BigDecimal amount) {
+        public static Snapshot of(Payment payment) {
+            return new Snapshot(payment.getDueDate(), payment.getStatus(), payment.getType(), payment.getAmount());
+        }
+
+        boolean counted() {
+            return dueDate != null && status != null;
+        }
+    }
+
+    public void recordCreated(Payment payment) {
+        apply(Snapshot.of(payment), 1);
+    }
+
+    public void recordDeleted(Snapshot before) {
+        apply(before, -1);
+    }
+
+    public void recordUpdated(Snapshot before, Payment after) {
+        Snapshot current = Snapshot.of(after);
+        if (before.equals(current)) {
+            return;
+        }
+        apply(before, -1);
+        apply(current, 1);
+    }
+
+    /**
+     * Applies a delta for {@code count} payments of the given status and type due on {@code date}.
+     * Runs in the caller's transaction so the rollup commits or rolls back with the payment change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(LocalDate date, String status, String type, long count, BigDecimal amount) {
+        jdbcTemplate.update(UPSERT_SQL, Date.valueOf(date), status, type != null ? type : NO_TYPE, count,
+            amount != null ? amount : BigDecimal.ZERO);
+    }
+
+    public PaymentStats getStats(LocalDate from, LocalDate to) {
+        List<PaymentDailyStat> days = jdbcTemplate.query(SELECT_RANGE_SQL, (rs, rowNum) -> new PaymentDailyStat(
+            rs.getDate(1).toLocalDate(), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getBigDecimal(5)),
+            Date.valueOf(from), Date.valueOf(to));
+
+        long count = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal outstanding = BigDecimal.ZERO;
+        BigDecimal overdue = BigDecimal.ZERO;
+        for (PaymentDailyStat day : days) {
+            count += day.count();
+            switch (PaymentStatus.valueOf(day.status())) {
+                case PAID -> revenue = revenue.add(day.total());
+                case PENDING -> outstanding = outstanding.add(day.total());
+                case OVERDUE -> overdue = overdue.add(day.total());
+                default -> {
+                }
+            }
+        }
+        return new PaymentStats(from, to, count, revenue, outstanding, overdue, days);
+    }
+
+    /**
+     * Rebuilds the rollup from payments. The table lock waits for writers that already applied a
+     * delta and holds back new ones, so no delta is lost or counted twice.
+     */
+    @Scheduled(cron = "${payments.stats.reconcile-cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcile() {
+        long started = System.nanoTime();
+        jdbcTemplate.execute("LOCK TABLE payment_daily_stats IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM payment_daily_stats");
+        int buckets = jdbcTemplate.update(REBUILD_SQL);
+        log.info("Rebuilt payment statistics: {} buckets in {} ms",
+            buckets, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // First start after the rollup was introduced: fill it from existing payments
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        Boolean empty = jdbcTemplate.queryForObject(
+            "SELECT NOT EXISTS (SELECT 1 FROM payment_daily_stats)", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            reconcile();
+        }
+    }
+
+    private void apply(Snapshot snapshot, int sign) {
+        if (!snapshot.counted()) {
+            return;
+        }
+        BigDecimal amount = Objects.requireNonNullElse(snapshot.amount(), BigDecimal.ZERO);
+        applyDelta(snapshot.dueDate(), snapshot.status().name(),
+            snapshot.type() != null ? snapshot.type().name() : null,
+            sign, sign < 0 ? amount.negate() : amount);
+    }
+}
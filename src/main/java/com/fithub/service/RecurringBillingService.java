@@ -0,0 +1,218 @@
+package com.fithub.service;
+
+import com.fithub.model.JobRun;
+import com.fithub.model.MembershipType;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates next period's membership dues for every active member. The member id range is split
+ * into {@link JobCoordinator} partitions shared by all nodes and worked in parallel, each as a
+ * series of {@code INSERT ... SELECT} chunks; the unique (member_id, billing_period) index makes
+ * reruns and taken-over ranges insert nothing twice.
+ */
+@Service
+@Slf4j
+public class RecurringBillingService {
+    public static final String JOB_NAME = "recurring-billing";
+    static final String RECURRENCE_INTERVAL = "MONTHLY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentStatsService statsService;
+    private final JobRunService jobRunService;
+    private final ThreadPoolTaskExecutor executor;
+    private final JobCoordinator jobCoordinator;
+    private final Map<MembershipType, BigDecimal> prices = new LinkedHashMap<>();
+
+    @Value("${billing.recurring.partitions:16}")
+    private int partitions;
+
+    @Value("${billing.recurring.parallelism:4}")
+    private int parallelism;
+
+    @Value("${billing.recurring.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${billing.recurring.due-day:1}")
+    private int dueDay;
+
+    public RecurringBillingService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PaymentStatsService statsService,
+            JobRunService jobRunService,
+            @Qualifier("billingExecutor") ThreadPoolTaskExecutor executor,
+            JobCoordinator jobCoordinator,
+            Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.statsService = statsService;
+        this.jobRunService = jobRunService;
+        this.executor = executor;
+        this.jobCoordinator = jobCoordinator;
+        for (MembershipType type : MembershipType.values()) {
+            BigDecimal price = environment.getProperty(
+                "billing.recurring.prices." + type.name().toLowerCase(Locale.ROOT), BigDecimal.class);
+            if (price != null) {
+                prices.put(type, price);
+            }
+        }
+    }
+
+    /**
+     * Counts for one id range; partitions and whole runs are sums of these.
+     */
+    public record BillingResult(long scanned, long created, BigDecimal amount) {
+        static final BillingResult EMPTY = new BillingResult(0, 0, BigDecimal.ZERO);
+
+        BillingResult plus(BillingResult other) {
+            return new BillingResult(scanned + other.scanned, created + other.created, amount.add(other.amount));
+        }
+    }
+
+    @PostConstruct
+    void registerJob() {
+        jobCoordinator.register(JOB_NAME,
+            (runKey, fromId, toId) -> generateRange(YearMonth.parse(runKey), fromId, toId, new AtomicLong()).created());
+    }
+
+    // Bills the next month a few days ahead so reminders can go out before the due date
+    @Scheduled(cron = "${billing.recurring.cron:0 0 1 25 * *}")
+    public void generateNextPeriod() {
+        generate(YearMonth.now().plusMonths(1));
+    }
+
+    public BillingResult generate(YearMonth period) {
+        return generate(period, false);
+    }
+
+    /**
+     * Bills the period; with {@code rerun} every range is scanned again even if the period was
+     * already billed, so members added since then are billed too. Existing dues are kept.
+     */
+    public BillingResult generate(YearMonth period, boolean rerun) {
+        if (prices.isEmpty()) {
+            log.warn("No billing.recurring.prices configured, skipping recurring billing for {}", period);
+            return BillingResult.EMPTY;
+        }
+        JobRun run = jobRunService.start(JOB_NAME);
+        long started = System.nanoTime();
+        AtomicLong progress = new AtomicLong();
+        try {
+            Queue<BillingResult> ranges = new ConcurrentLinkedQueue<>();
+            JobCoordinator.RunResult coordinated = jobCoordinator.run(JOB_NAME, period.toString(), partitions,
+                parallelism, executor, rerun, (runKey, fromId, toId) -> {
+                    BillingResult range = generateRange(period, fromId, toId, progress);
+                    ranges.add(range);
+                    return range.created();
+                });
+            BillingResult total = ranges.stream().reduce(BillingResult.EMPTY, BillingResult::plus);
+
+            // Counts cover the ranges this node claimed; other nodes record their own runs
+            long elapsedMs = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+            String detail = String.format("period=%s, node=%s, partitions=%d/%d, unfinished=%d, created=%d, amount=%s, " +
+                    "elapsedMs=%d, membersPerSecond=%d",
+                period, jobCoordinator.getNodeId(), coordinated.claimed(), coordinated.partitions(),
+                coordinated.unfinished(), total.created(), total.amount().toPlainString(), elapsedMs,
+                total.scanned() * 1000 / elapsedMs);
+            jobRunService.complete(run, total.created(), detail);
+            log.info("Recurring billing finished: {}", detail);
+            return total;
+        } catch (Exception e) {
+            log.error("Recurring billing for {} failed", period, e);
+            jobRunService.fail(run, progress.get(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Bills members with {@code fromId <= id < toId}, one transaction per chunk of ids. The last
+     * range of a run is open-ended, so chunks stop at the highest member id.
+     */
+    public BillingResult generateRange(YearMonth period, long fromId, long toId, AtomicLong progress) {
+        Long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM members", Long.class);
+        long upperId = Math.min(toId, lastId + 1);
+        BillingResult result = BillingResult.EMPTY;
+        for (long from = fromId; from < upperId; from += chunkSize) {
+            long chunkStart = from;
+            long chunkEnd = Math.min(from + chunkSize, upperId);
+            BillingResult chunk = transactionTemplate.execute(status -> insertChunk(period, chunkStart, chunkEnd));
+            progress.addAndGet(chunk.created());
+            result = result.plus(chunk);
+        }
+        return result;
+    }
+
+    private BillingResult insertChunk(YearMonth period, long fromId, long toId) {
+        LocalDate periodStart = period.atDay(1);
+        LocalDate dueDate = period.atDay(Math.min(dueDay, period.lengthOfMonth()));
+        String billingPeriod = period.toString();
+
+        // Placeholders in statement order: price rows, id range and expiry, then the inserted values
+        List<Object> args = new ArrayList<>();
+        StringBuilder priceRows = new StringBuilder();
+        prices.forEach((type, price) -> {
+            priceRows.append(priceRows.length() > 0 ? ", " : "").append("(CAST(? AS VARCHAR), CAST(? AS NUMERIC))");
+            args.add(type.name());
+            args.add(price);
+        });
+        args.add(fromId);
+        args.add(toId);
+        args.add(Date.valueOf(periodStart));
+        args.add(Date.valueOf(dueDate));
+        args.add(PaymentStatus.PENDING.name());
+        args.add(PaymentType.MONTHLY_MEMBERSHIP.name());
+        args.add(billingPeriod);
+        args.add(RECURRENCE_INTERVAL);
+        args.add(billingPeriod);
+
+        String sql =
+            "WITH eligible AS (" +
+            "  SELECT m.id, price.amount, m.membership_type FROM members m " +
+            "  JOIN (VALUES " + priceRows + ") AS price(membership_type, amount) " +
+            "    ON price.membership_type = m.membership_type " +
+            "  WHERE m.id >= ? AND m.id < ? AND m.status = 'ACTIVE' " +
+            "    AND (m.membership_expiry IS NULL OR m.membership_expiry >= ?)" +
+            "), inserted AS (" +
+            "  INSERT INTO payments (member_id, amount, due_date, status, type, description, " +
+            "    is_recurring, recurrence_interval, billing_period) " +
+            "  SELECT e.id, e.amount, ?, ?, ?, " +
+            "    'Membership fee ' || e.membership_type || ' ' || ?, true, ?, ? FROM eligible e " +
+            "  ON CONFLICT (member_id, billing_period) WHERE billing_period IS NOT NULL DO NOTHING " +
+            "  RETURNING amount" +
+            ") " +
+            "SELECT (SELECT COUNT(*) FROM eligible), COUNT(*), COALESCE(SUM(amount), 0) FROM inserted";
+
+        BillingResult result = jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+            new BillingResult(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)), args.toArray());
+        if (result.created() > 0) {
+            statsService.applyDelta(dueDate, PaymentStatus.PENDING.name(), PaymentType.MONTHLY_MEMBERSHIP.name(),
+                result.created(), result.amount());
+        }
+        return result;
+    }
+}
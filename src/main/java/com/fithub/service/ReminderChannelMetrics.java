@@ -0,0 +1,81 @@
+package com.fithub.service;
+
+import com.fithub.model.ReminderKind;
+import com.fithub.model.ReminderType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for each reminder channel, split by the phase of a delivery, plus one timer per
+ * channel, kind and outcome for whole sends. Published as {@code reminder.channel.phase} and
+ * {@code reminder.send} with percentile histograms.
+ */
+@Component
+public class ReminderChannelMetrics {
+
+    public enum Phase {
+        QUEUE_WAIT,
+        POOL_WAIT,
+        CONNECT,
+        SEND
+    }
+
+    private final MeterRegistry registry;
+    private final Map<ReminderType, Map<Phase, Timer>> latencies = new EnumMap<>(ReminderType.class);
+
+    public ReminderChannelMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (ReminderType channel : ReminderType.values()) {
+            Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, Timer.builder("reminder.channel.phase")
+                    .description("Time spent in each phase of a reminder delivery")
+                    .tag("channel", channel.name())
+                    .tag("phase", phase.name())
+                    .publishPercentileHistogram()
+                    .register(registry));
+            }
+            latencies.put(channel, phases);
+        }
+    }
+
+    public void record(ReminderType channel, Phase phase, long nanos) {
+        latencies.get(channel).get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSend(ReminderType channel, ReminderKind kind, boolean sent, long nanos) {
+        Timer.builder("reminder.send")
+            .description("Reminder sends, from rendering to the transport accepting the message")
+            .tag("channel", channel.name())
+            .tag("kind", kind.name())
+            .tag("outcome", sent ? "sent" : "failed")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Map<String, Map<String, Map<String, Number>>> snapshot() {
+        Map<String, Map<String, Map<String, Number>>> snapshot = new LinkedHashMap<>();
+        latencies.forEach((channel, phases) -> {
+            Map<String, Map<String, Number>> channelSnapshot = new LinkedHashMap<>();
+            phases.forEach((phase, timer) -> channelSnapshot.put(phase.name(), snapshot(timer)));
+            snapshot.put(channel.name(), channelSnapshot);
+        });
+        return snapshot;
+    }
+
+    private static Map<String, Number> snapshot(Timer timer) {
+        Map<String, Number> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", timer.count());
+        snapshot.put("avgMillis", timer.mean(TimeUnit.MILLISECONDS));
+        // Micrometer's max decays over the step interval rather than covering the process lifetime
+        snapshot.put("maxMillis", timer.max(TimeUnit.MILLISECONDS));
+        return snapshot;
+    }
+}
@@ -0,0 +1,144 @@
+package com.fithub.service;
+
+import com.fithub.model.Member;
+import com.fithub.model.Payment;
+import com.fithub.model.ReminderOutbox;
+import com.fithub.model.ReminderType;
+import com.fithub.repository.MemberRepository;
+import com.fithub.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Drains the reminder outbox in batches, delivering each channel on its own bounded worker pool.
+ */
+@Service
+@Slf4j
+public class ReminderDispatcher {
+    private final ReminderService reminderService;
+    private final ReminderOutboxService outboxService;
+    private final MemberRepository memberRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReminderChannelMetrics channelMetrics;
+    private final Map<ReminderType, ThreadPoolTaskExecutor> executors = new EnumMap<>(ReminderType.class);
+    private final Map<ReminderType, Counter> delivered = new EnumMap<>(ReminderType.class);
+    private final Map<ReminderType, Counter> failed = new EnumMap<>(ReminderType.class);
+
+    @Value("${reminders.outbox.batch-size:100}")
+    private int batchSize;
+
+    public ReminderDispatcher(
+            ReminderService reminderService,
+            ReminderOutboxService outboxService,
+            MemberRepository memberRepository,
+            PaymentRepository paymentRepository,
+            ReminderChannelMetrics channelMetrics,
+            @Qualifier("emailReminderExecutor") ThreadPoolTaskExecutor emailReminderExecutor,
+            @Qualifier("whatsappReminderExecutor") ThreadPoolTaskExecutor whatsappReminderExecutor,
+            MeterRegistry registry) {
+        this.reminderService = reminderService;
+        this.outboxService = outboxService;
+        this.memberRepository = memberRepository;
+        this.paymentRepository = paymentRepository;
+        this.channelMetrics = channelMetrics;
+        this.executors.put(ReminderType.EMAIL, emailReminderExecutor);
+        this.executors.put(ReminderType.WHATSAPP, whatsappReminderExecutor);
+        for (ReminderType channel : ReminderType.values()) {
+            delivered.put(channel, deliveries(registry, channel, "sent"));
+            failed.put(channel, deliveries(registry, channel, "failed"));
+            Gauge.builder("reminder.executor.backlog", () -> getBacklog(channel))
+                .description("Claimed reminders waiting for a channel worker")
+                .tag("channel", channel.name())
+                .register(registry);
+        }
+    }
+
+    private static Counter deliveries(MeterRegistry registry, ReminderType channel, String outcome) {
+        return Counter.builder("reminder.outbox.deliveries")
+            .description("Outbox entries delivered or failed, including lookups that found nothing to send")
+            .tag("channel", channel.name())
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.outbox.poll-interval:PT5S}")
+    public void drainOutbox() {
+        for (ReminderType channel : ReminderType.values()) {
+            try {
+                drain(channel);
+            } catch (Exception e) {
+                log.error("Failed to drain {} reminder outbox", channel, e);
+            }
+        }
+    }
+
+    public int getBacklog(ReminderType type) {
+        return executors.get(type).getThreadPoolExecutor().getQueue().size();
+    }
+
+    private void drain(ReminderType channel) {
+        ThreadPoolTaskExecutor executor = executors.get(channel);
+        int capacity;
+        while ((capacity = freeCapacity(executor.getThreadPoolExecutor())) > 0) {
+            List<ReminderOutbox> batch = outboxService.claimBatch(channel, Math.min(batchSize, capacity));
+            if (batch.isEmpty()) {
+                return;
+            }
+            log.debug("Claimed {} {} reminders from the outbox", batch.size(), channel);
+            for (ReminderOutbox entry : batch) {
+                long queuedAt = System.nanoTime();
+                executor.execute(() -> {
+                    channelMetrics.record(channel, ReminderChannelMetrics.Phase.QUEUE_WAIT, System.nanoTime() - queuedAt);
+                    deliver(entry);
+                });
+            }
+        }
+    }
+
+    // Only claim what the pool can take right away so leased rows do not sit in a local queue
+    private int freeCapacity(ThreadPoolExecutor executor) {
+        return executor.getQueue().remainingCapacity()
+            + executor.getMaximumPoolSize() - executor.getActiveCount();
+    }
+
+    private void deliver(ReminderOutbox entry) {
+        try {
+            switch (entry.getKind()) {
+                case MEMBERSHIP_EXPIRATION -> {
+                    Member member = memberRepository.findById(entry.getMemberId())
+                        .orElseThrow(() -> new RuntimeException("Member not found"));
+                    reminderService.sendMembershipExpirationReminder(
+                        member, entry.getChannel(), entry.getDaysRemaining());
+                }
+                case PAYMENT_DUE -> {
+                    Payment payment = paymentRepository.findWithMemberById(entry.getPaymentId())
+                        .orElseThrow(() -> new RuntimeException("Payment not found"));
+                    reminderService.sendPaymentReminder(payment, entry.getChannel());
+                }
+                case PAYMENT_OVERDUE -> {
+                    Payment payment = paymentRepository.findWithMemberById(entry.getPaymentId())
+                        .orElseThrow(() -> new RuntimeException("Payment not found"));
+                    reminderService.sendPaymentOverdueReminder(payment, entry.getChannel());
+                }
+            }
+            outboxService.markSent(entry);
+            delivered.get(entry.getChannel()).increment();
+        } catch (Exception e) {
+            failed.get(entry.getChannel()).increment();
+            log.error("Failed to deliver {} reminder {} via {}", entry.getKind(), entry.getId(), entry.getChannel(), e);
+            outboxService.markFailed(entry, e);
+        }
+    }
+}
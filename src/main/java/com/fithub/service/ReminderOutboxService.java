@@ -0,0 +1,188 @@
+package com.fithub.service;
+
+import com.fithub.model.Member;
+import com.fithub.model.OutboxStatus;
+import com.fithub.model.Payment;
+import com.fithub.model.PaymentReminder;
+import com.fithub.model.ReminderKind;
+import com.fithub.model.ReminderOutbox;
+import com.fithub.model.ReminderType;
+import com.fithub.repository.PaymentReminderRepository;
+import com.fithub.repository.ReminderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderOutboxService {
+    private static final String INSERT_SQL =
+        "INSERT INTO reminder_outbox (kind, channel, member_id, payment_id, days_remaining, dedup_key, " +
+        "status, attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?) " +
+        "ON CONFLICT (dedup_key) DO NOTHING";
+
+    private final ReminderOutboxRepository outboxRepository;
+    private final PaymentReminderRepository paymentReminderRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${reminders.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${reminders.outbox.initial-backoff:PT1M}")
+    private Duration initialBackoff;
+
+    @Value("${reminders.outbox.max-backoff:PT6H}")
+    private Duration maxBackoff;
+
+    @Value("${reminders.outbox.lease:PT5M}")
+    private Duration lease;
+
+    public ReminderOutbox membershipExpirationEntry(Member member, ReminderType channel, int daysRemaining) {
+        return ReminderOutbox.builder()
+            .kind(ReminderKind.MEMBERSHIP_EXPIRATION)
+            .channel(channel)
+            .memberId(member.getId())
+            .daysRemaining(daysRemaining)
+            .dedupKey(String.join(":", ReminderKind.MEMBERSHIP_EXPIRATION.name(), channel.name(),
+                String.valueOf(member.getId()), String.valueOf(member.getMembershipExpiry()),
+                String.valueOf(daysRemaining)))
+            .build();
+    }
+
+    public ReminderOutbox paymentDueEntry(Payment payment, ReminderType channel, LocalDate today) {
+        int daysUntilDue = (int) ChronoUnit.DAYS.between(today, payment.getDueDate());
+        return ReminderOutbox.builder()
+            .kind(ReminderKind.PAYMENT_DUE)
+            .channel(channel)
+            .memberId(payment.getMember() != null ? payment.getMember().getId() : null)
+            .paymentId(payment.getId())
+            .daysRemaining(daysUntilDue)
+            .dedupKey(String.join(":", ReminderKind.PAYMENT_DUE.name(), channel.name(),
+                String.valueOf(payment.getId()), String.valueOf(payment.getDueDate()),
+                String.valueOf(daysUntilDue)))
+            .build();
+    }
+
+    public ReminderOutbox paymentOverdueEntry(Long paymentId, Long memberId, LocalDate dueDate, ReminderType channel) {
+        return ReminderOutbox.builder()
+            .kind(ReminderKind.PAYMENT_OVERDUE)
+            .channel(channel)
+            .memberId(memberId)
+            .paymentId(paymentId)
+            .dedupKey(String.join(":", ReminderKind.PAYMENT_OVERDUE.name(), channel.name(),
+                String.valueOf(paymentId), String.valueOf(dueDate)))
+            .build();
+    }
+
+    /**
+     * Inserts the entries in the caller's transaction. Entries whose dedup key is already
+     * present are ignored, so a re-run after a crash does not queue a reminder twice.
+     *
+     * @return the number of entries actually added to the outbox
+     */
+    @Transactional
+    public int enqueue(List<ReminderOutbox> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKind().name());
+            ps.setString(2, entry.getChannel().name());
+            ps.setObject(3, entry.getMemberId());
+            ps.setObject(4, entry.getPaymentId());
+            ps.setObject(5, entry.getDaysRemaining());
+            ps.setString(6, entry.getDedupKey());
+            ps.setString(7, OutboxStatus.PENDING.name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                inserted += Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Claims up to {@code limit} deliverable entries for one channel and leases them to the caller.
+     */
+    @Transactional
+    public List<ReminderOutbox> claimBatch(ReminderType channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReminderOutbox> batch = outboxRepository.findDeliverable(channel, now, PageRequest.of(0, limit));
+        for (ReminderOutbox entry : batch) {
+            entry.setStatus(OutboxStatus.SENDING);
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLockedUntil(now.plus(lease));
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(ReminderOutbox entry) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.findById(entry.getId()).ifPresent(outbox -> {
+            outbox.setStatus(OutboxStatus.SENT);
+            outbox.setSentAt(now);
+            outbox.setLockedUntil(null);
+            outbox.setLastError(null);
+        });
+        recordAttempt(entry, now, PaymentReminder.STATUS_SENT, null);
+    }
+
+    @Transactional
+    public void markFailed(ReminderOutbox entry, Exception error) {
+        LocalDateTime now = LocalDateTime.now();
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        outboxRepository.findById(entry.getId()).ifPresent(outbox -> {
+            outbox.setLockedUntil(null);
+            outbox.setLastError(message);
+            if (outbox.getAttempts() >= maxAttempts) {
+                outbox.setStatus(OutboxStatus.DEAD);
+                log.warn("Reminder outbox entry {} dead-lettered after {} attempts", outbox.getId(), outbox.getAttempts());
+            } else {
+                outbox.setStatus(OutboxStatus.PENDING);
+                outbox.setNextAttemptAt(now.plus(backoff(outbox.getAttempts())));
+            }
+        });
+        recordAttempt(entry, now, PaymentReminder.STATUS_FAILED, message);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending(ReminderType channel) {
+        return outboxRepository.countByChannelAndStatus(channel, OutboxStatus.PENDING);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void recordAttempt(ReminderOutbox entry, LocalDateTime attemptedAt, String status, String errorMessage) {
+        paymentReminderRepository.save(PaymentReminder.builder()
+            .paymentId(entry.getPaymentId())
+            .memberId(entry.getMemberId())
+            .outboxId(entry.getId())
+            .reminderType(entry.getChannel())
+            .sentAt(attemptedAt)
+            .status(status)
+            .errorMessage(errorMessage)
+            .createdAt(attemptedAt)
+            .build());
+    }
+}
@@ -2,81 +2,198 @@ package com.fithub.service;
 
 import com.fithub.model.Member;
 import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.ReminderOutbox;
 import com.fithub.model.ReminderType;
 import com.fithub.repository.MemberRepository;
 import com.fithub.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Daily reminder sweeps. Each sweep is a {@link JobCoordinator} run keyed by the date, so with
+ * several nodes every member range is swept by one of them; the outbox dedup key keeps a range
+ * that is swept again after a takeover from enqueueing anything twice.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReminderSchedulerService {
+    public static final String MEMBERSHIP_EXPIRATION_JOB = "membership-expiration-reminders";
+    public static final String PAYMENT_DUE_JOB = "payment-due-reminders";
+
     private final MemberRepository memberRepository;
     private final PaymentRepository paymentRepository;
-    private final ReminderService reminderService;
-    
+    private final ReminderOutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${reminders.sweep.page-size:500}")
+    private int pageSize;
+
+    @Value("${reminders.sweep.partitions:8}")
+    private int partitions;
+
+    @PostConstruct
+    void registerJobs() {
+        // The run key is the sweep date, so a range taken over after midnight still uses its own day
+        jobCoordinator.register(MEMBERSHIP_EXPIRATION_JOB,
+            (runKey, fromId, toId) -> sendMembershipExpirationReminders(LocalDate.parse(runKey), fromId, toId));
+        jobCoordinator.register(PAYMENT_DUE_JOB,
+            (runKey, fromId, toId) -> sendPaymentReminders(LocalDate.parse(runKey), fromId, toId));
+    }
+
     // Run every day at 9 AM
     @Scheduled(cron = "0 0 9 * * *")
     public void checkAndSendReminders() {
-        sendMembershipExpirationReminders();
-        sendPaymentReminders();
+        String runKey = LocalDate.now().toString();
+        runSweep(MEMBERSHIP_EXPIRATION_JOB, runKey);
+        runSweep(PAYMENT_DUE_JOB, runKey);
+    }
+
+    private void runSweep(String jobName, String runKey) {
+        try {
+            JobCoordinator.RunResult result = jobCoordinator.run(jobName, runKey, partitions);
+            log.info("Reminder job {} [{}]: this node swept {} of {} ranges ({} rows), {} ranges unfinished",
+                jobName, runKey, result.claimed(), result.partitions(), result.rows(), result.unfinished());
+        } catch (Exception e) {
+            // The failed range is released for retry by the coordinator's recovery task
+            log.error("Reminder job {} [{}] failed", jobName, runKey, e);
+        }
     }
-    
-    private void sendMembershipExpirationReminders() {
-        LocalDate today = LocalDate.now();
+
+    private long sendMembershipExpirationReminders(LocalDate today, long fromId, long toId) {
         LocalDate thirtyDaysFromNow = today.plusDays(30);
         LocalDate sevenDaysFromNow = today.plusDays(7);
         LocalDate threeDaysFromNow = today.plusDays(3);
-        
-        List<Member> expiringMembers = memberRepository.findByMembershipExpiryBetween(
-            today, thirtyDaysFromNow);
-        
-        for (Member member : expiringMembers) {
-            LocalDate expiryDate = member.getMembershipExpiry();
-            
-            if (expiryDate.equals(thirtyDaysFromNow)) {
-                // Send email only for 30-day reminder
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.EMAIL, 30);
-            } else if (expiryDate.equals(sevenDaysFromNow)) {
-                // Send both email and WhatsApp for 7-day reminder
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.EMAIL, 7);
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.WHATSAPP, 7);
-            } else if (expiryDate.equals(threeDaysFromNow)) {
-                // Send both for 3-day reminder
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.EMAIL, 3);
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.WHATSAPP, 3);
-            } else if (expiryDate.equals(today)) {
-                // Send final reminder on expiration day
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.EMAIL, 0);
-                reminderService.sendMembershipExpirationReminder(member, ReminderType.WHATSAPP, 0);
+        List<LocalDate> expiryDates = List.of(thirtyDaysFromNow, sevenDaysFromNow, threeDaysFromNow, today);
+
+        SweepProgress progress = new SweepProgress("membership expiration " + fromId + ".." + toId);
+        long afterId = fromId - 1;
+        int pageRows;
+        do {
+            long cursor = afterId;
+            List<Member> page = transactionTemplate.execute(status -> {
+                List<Member> members = memberRepository.findByMembershipExpiryInAfterId(
+                    expiryDates, cursor, toId, PageRequest.of(0, pageSize));
+                List<ReminderOutbox> entries = new ArrayList<>();
+
+                for (Member member : members) {
+                    LocalDate expiryDate = member.getMembershipExpiry();
+
+                    if (expiryDate.equals(thirtyDaysFromNow)) {
+                        // Send email only for 30-day reminder
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.EMAIL, 30));
+                    } else if (expiryDate.equals(sevenDaysFromNow)) {
+                        // Send both email and WhatsApp for 7-day reminder
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.EMAIL, 7));
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.WHATSAPP, 7));
+                    } else if (expiryDate.equals(threeDaysFromNow)) {
+                        // Send both for 3-day reminder
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.EMAIL, 3));
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.WHATSAPP, 3));
+                    } else if (expiryDate.equals(today)) {
+                        // Send final reminder on expiration day
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.EMAIL, 0));
+                        entries.add(outboxService.membershipExpirationEntry(member, ReminderType.WHATSAPP, 0));
+                    }
+                }
+
+                progress.enqueued(outboxService.enqueue(entries));
+                return members;
+            });
+
+            pageRows = page.size();
+            if (pageRows > 0) {
+                afterId = page.get(pageRows - 1).getId();
             }
-        }
+            progress.pageProcessed(pageRows);
+        } while (pageRows == pageSize);
+        return progress.finish();
     }
-    
-    private void sendPaymentReminders() {
-        LocalDate today = LocalDate.now();
+
+    private long sendPaymentReminders(LocalDate today, long fromId, long toId) {
         LocalDate threeDaysFromNow = today.plusDays(3);
-        
-        List<Payment> upcomingPayments = paymentRepository.findByDueDateBetweenAndStatus(
-            today, threeDaysFromNow, "pending");
-        
-        for (Payment payment : upcomingPayments) {
-            LocalDate dueDate = payment.getDueDate();
-            
-            if (dueDate.equals(threeDaysFromNow)) {
-                // Send email for 3-day reminder
-                reminderService.sendPaymentReminder(payment, ReminderType.EMAIL);
-            } else if (dueDate.equals(today)) {
-                // Send both email and WhatsApp on due date
-                reminderService.sendPaymentReminder(payment, ReminderType.EMAIL);
-                reminderService.sendPaymentReminder(payment, ReminderType.WHATSAPP);
+
+        SweepProgress progress = new SweepProgress("payment " + fromId + ".." + toId);
+        long afterId = 0;
+        int pageRows;
+        do {
+            long cursor = afterId;
+            List<Payment> page = transactionTemplate.execute(status -> {
+                List<Payment> payments = paymentRepository.findByDueDateInAndStatusAfterId(
+                    List.of(threeDaysFromNow, today), PaymentStatus.PENDING, cursor, fromId, toId, PageRequest.of(0, pageSize));
+                List<ReminderOutbox> entries = new ArrayList<>();
+
+                for (Payment payment : payments) {
+                    LocalDate dueDate = payment.getDueDate();
+
+                    if (dueDate.equals(threeDaysFromNow)) {
+                        // Send email for 3-day reminder
+                        entries.add(outboxService.paymentDueEntry(payment, ReminderType.EMAIL, today));
+                    } else if (dueDate.equals(today)) {
+                        // Send both email and WhatsApp on due date
+                        entries.add(outboxService.paymentDueEntry(payment, ReminderType.EMAIL, today));
+                        entries.add(outboxService.paymentDueEntry(payment, ReminderType.WHATSAPP, today));
+                    }
+                }
+
+                progress.enqueued(outboxService.enqueue(entries));
+                return payments;
+            });
+
+            pageRows = page.size();
+            if (pageRows > 0) {
+                afterId = page.get(pageRows - 1).getId();
             }
+            progress.pageProcessed(pageRows);
+        } while (pageRows == pageSize);
+        return progress.finish();
+    }
+
+    private class SweepProgress {
+        private final String name;
+        private final long startedAt = System.nanoTime();
+        private long scanned;
+        private long enqueued;
+
+        SweepProgress(String name) {
+            this.name = name;
+        }
+
+        void enqueued(int count) {
+            enqueued += count;
+        }
+
+        void pageProcessed(int rows) {
+            scanned += rows;
+            if (rows > 0) {
+                log.info("Reminder sweep [{}]: scanned {} rows, enqueued {} reminders, {} rows/s, outbox backlog email={} whatsapp={}",
+                    name, scanned, enqueued, rowsPerSecond(),
+                    outboxService.countPending(ReminderType.EMAIL),
+                    outboxService.countPending(ReminderType.WHATSAPP));
+            }
+        }
+
+        long finish() {
+            log.info("Reminder sweep [{}] finished: scanned {} rows in {} ms, enqueued {} reminders",
+                name, scanned, (System.nanoTime() - startedAt) / 1_000_000, enqueued);
+            return scanned;
+        }
+
+        private long rowsPerSecond() {
+            long elapsedNanos = Math.max(System.nanoTime() - startedAt, 1);
+            return scanned * 1_000_000_000L / elapsedNanos;
         }
     }
-}
\ No newline at end of file
+}
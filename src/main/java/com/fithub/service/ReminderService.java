@@ -2,85 +2,57 @@ package com.fithub.service;
 
 import com.fithub.model.Member;
 import com.fithub.model.Payment;
+import com.fithub.model.ReminderKind;
 import com.fithub.model.ReminderType;
+import com.fithub.service.ReminderTemplate.Variable;
+import com.fithub.service.ReminderTemplateEngine.Part;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
 import org.springframework.beans.factory.annotation.Value;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReminderService {
-    private final JavaMailSender mailSender;
-    
-    @Value("${twilio.account-sid}")
-    private String twilioAccountSid;
-    
-    @Value("${twilio.auth-token}")
-    private String twilioAuthToken;
-    
-    @Value("${twilio.whatsapp-number}")
-    private String twilioWhatsappNumber;
+    private final EmailTransport emailTransport;
+    private final WhatsAppTransport whatsAppTransport;
+    private final ReminderTemplateEngine templateEngine;
+    private final ReminderChannelMetrics channelMetrics;
     
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    private static final String GYM_LOGO_URL = "https://images.unsplash.com/photo-1534438327276-14e5300c3a48?w=300";
+    private static final URI GYM_LOGO_URL = URI.create("https://images.unsplash.com/photo-1534438327276-14e5300c3a48?w=300");
     
     public void sendMembershipExpirationReminder(Member member, ReminderType type, int daysRemaining) {
-        switch (type) {
-            case EMAIL:
-                sendExpirationEmailReminder(member, daysRemaining);
-                break;
-            case WHATSAPP:
-                sendExpirationWhatsAppReminder(member, daysRemaining);
-                break;
-        }
+        timed(type, ReminderKind.MEMBERSHIP_EXPIRATION, () -> {
+            switch (type) {
+                case EMAIL:
+                    sendExpirationEmailReminder(member, daysRemaining);
+                    break;
+                case WHATSAPP:
+                    sendExpirationWhatsAppReminder(member, daysRemaining);
+                    break;
+            }
+        });
     }
 
     private void sendExpirationEmailReminder(Member member, int daysRemaining) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(member.getEmail());
-            helper.setSubject("Membership Expiration Reminder - FitHub");
-            
-            String emailContent = String.format("""
-                Dear %s,
-                
-                Your FitHub membership is expiring %s.
-                
-                Membership Details:
-                Type: %s
-                Expiry Date: %s
-                
-                To ensure uninterrupted access to our facilities, please renew your membership before it expires.
-                
-                Best regards,
-                FitHub Team
-                """,
-                member.getName(),
-                daysRemaining > 0 ? "in " + daysRemaining + " days" : "today",
-                member.getMembershipType(),
-                member.getMembershipExpiry().format(DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH))
-            );
-            
-            helper.setText(emailContent);
-            mailSender.send(message);
+            Locale locale = templateEngine.getDefaultLocale();
+            String[] values = membershipValues(member, daysRemaining, locale);
+
+            sendEmail(member.getEmail(), ReminderKind.MEMBERSHIP_EXPIRATION, values, locale);
             
             log.info("Membership expiration email reminder sent to: {}", member.getEmail());
         } catch (MessagingException e) {
@@ -91,36 +63,12 @@ public class ReminderService {
 
     private void sendExpirationWhatsAppReminder(Member member, int daysRemaining) {
         try {
-            Twilio.init(twilioAccountSid, twilioAuthToken);
+            Locale locale = templateEngine.getDefaultLocale();
+            String messageContent = templateEngine
+                .getTemplate(ReminderKind.MEMBERSHIP_EXPIRATION, ReminderType.WHATSAPP, Part.BODY, locale)
+                .render(membershipValues(member, daysRemaining, locale));
             
-            String messageContent = String.format("""
-                Hello %s! 👋
-                
-                Your FitHub membership is expiring %s.
-                
-                🏋️‍♂️ *Membership Details*
-                Type: %s
-                Expiry: %s
-                
-                Don't miss out on your fitness journey! Renew your membership to keep enjoying our facilities.
-                
-                Need help? Reply to this message and we'll assist you.
-                
-                Stay fit! 💪
-                *FitHub Team*
-                """,
-                member.getName(),
-                daysRemaining > 0 ? "in " + daysRemaining + " days" : "today",
-                member.getMembershipType(),
-                member.getMembershipExpiry().format(DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH))
-            );
-            
-            Message.creator(
-                new PhoneNumber("whatsapp:" + member.getPhone()),
-                new PhoneNumber("whatsapp:" + twilioWhatsappNumber),
-                messageContent
-            ).setMediaUrl(Arrays.asList(GYM_LOGO_URL))
-             .create();
+            whatsAppTransport.send(member.getPhone(), messageContent, GYM_LOGO_URL);
             
             log.info("Membership expiration WhatsApp reminder sent to: {}", member.getPhone());
         } catch (Exception e) {
@@ -130,21 +78,107 @@ public class ReminderService {
     }
 
     public void sendPaymentReminder(Payment payment, ReminderType type) {
-        switch (type) {
-            case EMAIL:
-                sendPaymentEmailReminder(payment);
-                break;
-            case WHATSAPP:
-                sendPaymentWhatsAppReminder(payment);
-                break;
+        sendPaymentReminder(payment, type, ReminderKind.PAYMENT_DUE);
+    }
+
+    public void sendPaymentOverdueReminder(Payment payment, ReminderType type) {
+        sendPaymentReminder(payment, type, ReminderKind.PAYMENT_OVERDUE);
+    }
+
+    private void sendPaymentReminder(Payment payment, ReminderType type, ReminderKind kind) {
+        timed(type, kind, () -> {
+            switch (type) {
+                case EMAIL:
+                    sendPaymentEmailReminder(payment, kind);
+                    break;
+                case WHATSAPP:
+                    sendPaymentWhatsAppReminder(payment, kind);
+                    break;
+            }
+        });
+    }
+
+    private void timed(ReminderType type, ReminderKind kind, Runnable send) {
+        long started = System.nanoTime();
+        boolean sent = false;
+        try {
+            send.run();
+            sent = true;
+        } finally {
+            channelMetrics.recordSend(type, kind, sent, System.nanoTime() - started);
         }
     }
 
-    private void sendPaymentEmailReminder(Payment payment) {
-        // Existing payment email reminder implementation
+    private void sendPaymentEmailReminder(Payment payment, ReminderKind kind) {
+        try {
+            Locale locale = templateEngine.getDefaultLocale();
+            String[] values = paymentValues(payment, locale);
+
+            sendEmail(payment.getMember().getEmail(), kind, values, locale);
+
+            log.info("Payment email reminder sent to: {}", payment.getMember().getEmail());
+        } catch (MessagingException e) {
+            log.error("Failed to send payment email reminder", e);
+            throw new RuntimeException("Failed to send payment email reminder", e);
+        }
+    }
+
+    private void sendPaymentWhatsAppReminder(Payment payment, ReminderKind kind) {
+        try {
+            Locale locale = templateEngine.getDefaultLocale();
+            String messageContent = templateEngine
+                .getTemplate(kind, ReminderType.WHATSAPP, Part.BODY, locale)
+                .render(paymentValues(payment, locale));
+
+            whatsAppTransport.send(payment.getMember().getPhone(), messageContent, GYM_LOGO_URL);
+
+            log.info("Payment WhatsApp reminder sent to: {}", payment.getMember().getPhone());
+        } catch (Exception e) {
+            log.error("Failed to send payment WhatsApp reminder", e);
+            throw new RuntimeException("Failed to send payment WhatsApp reminder", e);
+        }
     }
 
-    private void sendPaymentWhatsAppReminder(Payment payment) {
-        // Existing payment WhatsApp reminder implementation
+    private void sendEmail(String to, ReminderKind kind, String[] values, Locale locale) throws MessagingException {
+        MimeMessage message = emailTransport.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject(templateEngine.getTemplate(kind, ReminderType.EMAIL, Part.SUBJECT, locale).render(values));
+        helper.setText(templateEngine.getTemplate(kind, ReminderType.EMAIL, Part.BODY, locale).render(values));
+
+        emailTransport.send(message);
+    }
+
+    private String[] membershipValues(Member member, int daysRemaining, Locale locale) {
+        String[] values = ReminderTemplate.newValues();
+        values[Variable.MEMBER_NAME.ordinal()] = member.getName();
+        values[Variable.MEMBERSHIP_TYPE.ordinal()] = String.valueOf(member.getMembershipType());
+        values[Variable.EXPIRES_IN.ordinal()] = relativeDays(daysRemaining);
+        values[Variable.EXPIRY_DATE.ordinal()] = member.getMembershipExpiry().format(templateEngine.getDateFormatter(locale));
+        values[Variable.DAYS_REMAINING.ordinal()] = Integer.toString(daysRemaining);
+        return values;
+    }
+
+    private String[] paymentValues(Payment payment, Locale locale) {
+        int daysUntilDue = (int) ChronoUnit.DAYS.between(LocalDate.now(), payment.getDueDate());
+        String[] values = ReminderTemplate.newValues();
+        values[Variable.MEMBER_NAME.ordinal()] = payment.getMember().getName();
+        values[Variable.MEMBERSHIP_TYPE.ordinal()] = String.valueOf(payment.getMember().getMembershipType());
+        values[Variable.PAYMENT_TYPE.ordinal()] = String.valueOf(payment.getType());
+        values[Variable.AMOUNT.ordinal()] = payment.getAmount().setScale(2, RoundingMode.HALF_UP).toPlainString();
+        values[Variable.DUE_IN.ordinal()] = relativeDays(daysUntilDue);
+        values[Variable.DUE_DATE.ordinal()] = payment.getDueDate().format(templateEngine.getDateFormatter(locale));
+        values[Variable.DAYS_REMAINING.ordinal()] = Integer.toString(daysUntilDue);
+        values[Variable.DESCRIPTION.ordinal()] = payment.getDescription();
+        return values;
+    }
+
+    private static String relativeDays(int days) {
+        if (days < 0) {
+            return -days == 1 ? "1 day ago" : -days + " days ago";
+        }
+        return days > 0 ? "in " + days + " days" : "today";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.fithub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reminder template parsed once into literal text and variable slots.
+ * Placeholders are written as {@code {{variableName}}}.
+ */
+public final class ReminderTemplate {
+
+    public enum Variable {
+        MEMBER_NAME("memberName"),
+        MEMBERSHIP_TYPE("membershipType"),
+        EXPIRES_IN("expiresIn"),
+        EXPIRY_DATE("expiryDate"),
+        DAYS_REMAINING("daysRemaining"),
+        PAYMENT_TYPE("paymentType"),
+        AMOUNT("amount"),
+        DUE_IN("dueIn"),
+        DUE_DATE("dueDate"),
+        DESCRIPTION("description");
+
+        private static final Variable[] VALUES = values();
+
+        private final String placeholder;
+
+        Variable(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        static Variable fromPlaceholder(String placeholder) {
+            for (Variable variable : VALUES) {
+                if (variable.placeholder.equals(placeholder)) {
+                    return variable;
+                }
+            }
+            throw new IllegalArgumentException("Unknown template variable: " + placeholder);
+        }
+    }
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final Variable[] variables;
+    private final int literalLength;
+
+    private ReminderTemplate(String[] literals, Variable[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static ReminderTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(Variable.fromPlaceholder(source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new ReminderTemplate(literals.toArray(new String[0]), variables.toArray(new Variable[0]));
+    }
+
+    /**
+     * Returns an empty value array indexed by {@link Variable#ordinal()}.
+     */
+    public static String[] newValues() {
+        return new String[Variable.VALUES.length];
+    }
+
+    public String render(String[] values) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values[variables[i].ordinal()];
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+}
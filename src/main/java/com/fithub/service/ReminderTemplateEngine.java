@@ -0,0 +1,150 @@
+package com.fithub.service;
+
+import com.fithub.model.ReminderKind;
+import com.fithub.model.ReminderType;
+import com.fithub.model.Setting;
+import com.fithub.repository.SettingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiles reminder templates once and caches them per kind, channel, part and locale.
+ * <p>
+ * Built-in templates ship under {@code reminder-templates/} on the classpath. They can be
+ * overridden without a restart through {@code settings} rows keyed
+ * {@code tpl.<kind>.<channel>.<locale>.<part>}, e.g. {@code tpl.payment_due.email.en.subject};
+ * overrides are picked up by the periodic {@link #reload()}.
+ */
+@Service
+@Slf4j
+public class ReminderTemplateEngine {
+
+    public enum Part {
+        SUBJECT,
+        BODY
+    }
+
+    private static final String SETTING_PREFIX = "tpl.";
+    private static final String DATE_PATTERN = "MMMM d, yyyy";
+
+    private final SettingRepository settingRepository;
+    private final Locale defaultLocale;
+    private final Map<String, ReminderTemplate> builtIns = new HashMap<>();
+    private final ConcurrentMap<Locale, DateTimeFormatter> dateFormatters = new ConcurrentHashMap<>();
+
+    private volatile Map<String, ReminderTemplate> overrides = Map.of();
+    private volatile ConcurrentMap<String, ReminderTemplate> resolved = new ConcurrentHashMap<>();
+    private volatile int overridesFingerprint;
+
+    public ReminderTemplateEngine(
+            SettingRepository settingRepository,
+            @Value("${reminders.templates.default-locale:en}") String defaultLocale) {
+        this.settingRepository = settingRepository;
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        loadBuiltIns();
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public ReminderTemplate getTemplate(ReminderKind kind, ReminderType channel, Part part, Locale locale) {
+        String key = key(kind, channel, locale.toLanguageTag(), part);
+        return resolved.computeIfAbsent(key, k -> resolve(kind, channel, part, locale));
+    }
+
+    public DateTimeFormatter getDateFormatter(Locale locale) {
+        return dateFormatters.computeIfAbsent(locale, l -> DateTimeFormatter.ofPattern(DATE_PATTERN, l));
+    }
+
+    /**
+     * Recompiles the template overrides stored in {@code settings} when they have changed.
+     *
+     * @return the number of active overrides
+     */
+    @Scheduled(fixedDelayString = "${reminders.templates.refresh-interval:PT5M}")
+    public int reload() {
+        List<Setting> settings = settingRepository.findBySettingKeyStartingWith(SETTING_PREFIX);
+        int fingerprint = 1;
+        for (Setting setting : settings) {
+            fingerprint = 31 * fingerprint + setting.getSettingKey().hashCode();
+            fingerprint = 31 * fingerprint + setting.getSettingValue().hashCode();
+        }
+        if (fingerprint == overridesFingerprint) {
+            return overrides.size();
+        }
+
+        Map<String, ReminderTemplate> compiled = new HashMap<>();
+        for (Setting setting : settings) {
+            String key = setting.getSettingKey().substring(SETTING_PREFIX.length()).toLowerCase(Locale.ROOT);
+            try {
+                compiled.put(key, ReminderTemplate.compile(setting.getSettingValue()));
+            } catch (IllegalArgumentException e) {
+                log.error("Ignoring invalid reminder template setting {}: {}", setting.getSettingKey(), e.getMessage());
+            }
+        }
+        overrides = Map.copyOf(compiled);
+        resolved = new ConcurrentHashMap<>();
+        overridesFingerprint = fingerprint;
+        log.info("Loaded {} reminder template overrides", compiled.size());
+        return compiled.size();
+    }
+
+    private ReminderTemplate resolve(ReminderKind kind, ReminderType channel, Part part, Locale locale) {
+        Map<String, ReminderTemplate> current = overrides;
+        ReminderTemplate template = current.get(key(kind, channel, locale.toLanguageTag(), part));
+        if (template == null) {
+            template = current.get(key(kind, channel, locale.getLanguage(), part));
+        }
+        if (template == null) {
+            template = builtIns.get(builtInKey(kind, channel, part));
+        }
+        if (template == null) {
+            throw new IllegalStateException("No " + part + " template for " + kind + " via " + channel);
+        }
+        return template;
+    }
+
+    private void loadBuiltIns() {
+        for (ReminderKind kind : ReminderKind.values()) {
+            for (ReminderType channel : ReminderType.values()) {
+                for (Part part : Part.values()) {
+                    String key = builtInKey(kind, channel, part);
+                    ClassPathResource resource = new ClassPathResource("reminder-templates/" + key + ".txt");
+                    if (!resource.exists()) {
+                        continue;
+                    }
+                    try (InputStream in = resource.getInputStream()) {
+                        String source = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+                        builtIns.put(key, ReminderTemplate.compile(part == Part.SUBJECT ? source.strip() : source));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to load reminder template " + key, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String key(ReminderKind kind, ReminderType channel, String locale, Part part) {
+        return (kind.name() + "." + channel.name() + "." + locale + "." + part.name()).toLowerCase(Locale.ROOT);
+    }
+
+    private static String builtInKey(ReminderKind kind, ReminderType channel, Part part) {
+        return (kind.name() + "." + channel.name() + "." + part.name()).toLowerCase(Locale.ROOT);
+    }
+}
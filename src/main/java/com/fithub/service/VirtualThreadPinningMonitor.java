@@ -0,0 +1,118 @@
+package com.fithub.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads are enabled. A
+ * virtual thread that blocks inside a {@code synchronized} section keeps its carrier thread, so
+ * pinning sites are timed per first application frame as {@code threads.virtual.pinned} and logged
+ * the first time they are seen.
+ */
+@Service
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final MeterRegistry registry;
+    private final Map<String, Timer> sites = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${threads.pinning.threshold:PT0.02S}") Duration threshold,
+            MeterRegistry registry) {
+        this.threshold = threshold;
+        this.registry = registry;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public Map<String, Map<String, Number>> snapshot() {
+        Map<String, Map<String, Number>> snapshot = new LinkedHashMap<>();
+        sites.forEach((frame, timer) -> {
+            Map<String, Number> stats = new LinkedHashMap<>();
+            stats.put("count", timer.count());
+            stats.put("avgMs", timer.mean(TimeUnit.MILLISECONDS));
+            snapshot.put(frame, stats);
+        });
+        return snapshot;
+    }
+
+    private void record(RecordedEvent event) {
+        String frame = applicationFrame(event.getStackTrace());
+        Timer timer = sites.computeIfAbsent(frame, key -> {
+            log.warn("Virtual thread pinned for {} ms at {}; stack:\n{}",
+                event.getDuration().toMillis(), key, format(event.getStackTrace()));
+            return Timer.builder("threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .tag("site", key)
+                .register(registry);
+        });
+        timer.record(event.getDuration());
+    }
+
+    // The parking frame is always JDK code; the useful site is the first caller outside it
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        StringBuilder formatted = new StringBuilder();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                formatted.append("\tat ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()).append('\n');
+            }
+        }
+        return formatted.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fithub.service;
+
+import com.fithub.model.ReminderType;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Sends WhatsApp messages through one long-lived, thread-safe Twilio client whose
+ * HTTP connections are pooled and kept alive between messages. Setting
+ * {@code reminders.transport.twilio.base-url} sends the API calls to another host, such as a
+ * stub server for load tests.
+ */
+@Component
+public class WhatsAppTransport {
+    private final TwilioRestClient client;
+    private final ReminderChannelMetrics metrics;
+    private final PhoneNumber from;
+
+    public WhatsAppTransport(
+            ReminderChannelMetrics metrics,
+            @Value("${twilio.account-sid}") String accountSid,
+            @Value("${twilio.auth-token}") String authToken,
+            @Value("${twilio.whatsapp-number}") String whatsappNumber,
+            @Value("${reminders.transport.twilio.max-connections:8}") int maxConnections,
+            @Value("${reminders.transport.twilio.base-url:}") String baseUrl) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        HttpClientBuilder httpClient = HttpClientBuilder.create().setConnectionManager(connectionManager);
+        this.client = new TwilioRestClient.Builder(accountSid, authToken)
+            .httpClient(baseUrl.isBlank()
+                ? new NetworkHttpClient(httpClient)
+                : new BaseUrlHttpClient(httpClient, baseUrl))
+            .build();
+        this.metrics = metrics;
+        this.from = new PhoneNumber("whatsapp:" + whatsappNumber);
+    }
+
+    public void send(String toNumber, String body, URI mediaUrl) {
+        long sendStart = System.nanoTime();
+        Message.creator(new PhoneNumber("whatsapp:" + toNumber), from, body)
+            .setMediaUrl(List.of(mediaUrl))
+            .create(client);
+        metrics.record(ReminderType.WHATSAPP, ReminderChannelMetrics.Phase.SEND, System.nanoTime() - sendStart);
+    }
+
+    /**
+     * Replaces the scheme, host and port of every request URL with those of the base URL and
+     * keeps the path, parameters and credentials.
+     */
+    static class BaseUrlHttpClient extends NetworkHttpClient {
+        private final String baseUrl;
+
+        BaseUrlHttpClient(HttpClientBuilder builder, String baseUrl) {
+            super(builder);
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        }
+
+        @Override
+        public Response makeRequest(Request request) {
+            Request rewritten = new Request(request.getMethod(), baseUrl + URI.create(request.getUrl()).getRawPath());
+            if (request.requiresAuthentication()) {
+                rewritten.setAuth(request.getUsername(), request.getPassword());
+            }
+            rewritten.setContentType(request.getContentType());
+            if (request.getUserAgentExtensions() != null) {
+                rewritten.setUserAgentExtensions(request.getUserAgentExtensions());
+            }
+            request.getQueryParams().forEach((name, values) -> values.forEach(value -> rewritten.addQueryParam(name, value)));
+            request.getPostParams().forEach((name, values) -> values.forEach(value -> rewritten.addPostParam(name, value)));
+            request.getHeaderParams().forEach((name, values) -> values.forEach(value -> rewritten.addHeaderParam(name, value)));
+            return super.makeRequest(rewritten);
+        }
+    }
+}
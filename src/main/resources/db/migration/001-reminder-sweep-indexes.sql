@@ -0,0 +1,4 @@
+-- Indexes backing the keyset-paged daily reminder sweep.
+-- Scripts in this directory run after Hibernate has updated the schema and must stay idempotent.
+CREATE INDEX IF NOT EXISTS idx_members_membership_expiry_id ON members(membership_expiry, id);
+CREATE INDEX IF NOT EXISTS idx_payments_status_due_date_id ON payments(status, due_date, id);
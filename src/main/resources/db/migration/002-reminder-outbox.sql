@@ -0,0 +1,3 @@
+-- Lookup path for the outbox dispatcher: due rows per channel in delivery order.
+CREATE INDEX IF NOT EXISTS idx_reminder_outbox_deliverable ON reminder_outbox(channel, status, next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_payment_reminders_member_id ON payment_reminders(member_id);
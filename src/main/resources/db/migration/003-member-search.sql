@@ -0,0 +1,13 @@
+-- Normalized, generated search columns on members and the indexes behind member search.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE members ADD COLUMN IF NOT EXISTS search_text TEXT
+    GENERATED ALWAYS AS (lower(coalesce(name, '') || ' ' || coalesce(email, ''))) STORED;
+ALTER TABLE members ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(email, ''))) STORED;
+ALTER TABLE members ADD COLUMN IF NOT EXISTS phone_digits TEXT
+    GENERATED ALWAYS AS (regexp_replace(coalesce(phone, ''), '[^0-9]', '', 'g')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_members_search_text_trgm ON members USING gin (search_text gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_members_search_vector ON members USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_members_phone_digits ON members (phone_digits text_pattern_ops);
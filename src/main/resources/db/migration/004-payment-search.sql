@@ -0,0 +1,7 @@
+-- Indexed free-text column and filter indexes for the typed payment search.
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS search_text TEXT
+    GENERATED ALWAYS AS (lower(coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_payments_search_text_trgm ON payments USING gin (search_text gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_payments_amount ON payments(amount);
+CREATE INDEX IF NOT EXISTS idx_payments_type ON payments(type);
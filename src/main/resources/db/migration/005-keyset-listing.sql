@@ -0,0 +1,2 @@
+-- Composite indexes for the cursor-based member and payment listings.
+CREATE INDEX IF NOT EXISTS idx_payments_due_date_id ON payments(due_date, id);
@@ -0,0 +1,2 @@
+-- A member's visit history, newest first. Open visits are indexed by 011-attendance-open-visits.sql.
+CREATE INDEX IF NOT EXISTS idx_attendance_member_check_in ON attendance(member_id, check_in DESC);
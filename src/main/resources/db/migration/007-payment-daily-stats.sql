@@ -0,0 +1,10 @@
+-- Dashboard rollup, kept current by PaymentStatsService and rebuilt nightly from payments.
+CREATE TABLE IF NOT EXISTS payment_daily_stats (
+    stat_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stat_date, status, type)
+);
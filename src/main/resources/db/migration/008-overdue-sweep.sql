@@ -0,0 +1,6 @@
+-- The overdue sweep only ever looks at pending payments past their due date; index just those.
+CREATE INDEX IF NOT EXISTS idx_payments_pending_due ON payments(due_date) WHERE status = 'PENDING';
+
+-- Hibernate created this check with the original ReminderKind values and does not update it
+-- when values are added (PAYMENT_OVERDUE); the column is written from the enum anyway.
+ALTER TABLE reminder_outbox DROP CONSTRAINT IF EXISTS reminder_outbox_kind_check;
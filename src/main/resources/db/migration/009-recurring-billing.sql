@@ -0,0 +1,3 @@
+-- One generated due per member and billing period; recurring billing inserts with ON CONFLICT against it.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_payments_member_billing_period
+    ON payments(member_id, billing_period) WHERE billing_period IS NOT NULL;
@@ -0,0 +1,22 @@
+-- Member-id ranges of a scheduled job run, claimed by application nodes under a renewable lease.
+CREATE TABLE IF NOT EXISTS job_partitions (
+    job_name VARCHAR(50) NOT NULL,
+    run_key VARCHAR(50) NOT NULL,
+    partition_no INTEGER NOT NULL,
+    from_id BIGINT NOT NULL,
+    to_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_name, run_key, partition_no)
+);
+
+-- Recovery looks for recent runs with unfinished ranges.
+CREATE INDEX IF NOT EXISTS idx_job_partitions_unfinished
+    ON job_partitions(job_name, created_at) WHERE status IN ('PENDING', 'RUNNING');
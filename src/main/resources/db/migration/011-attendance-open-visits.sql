@@ -0,0 +1,12 @@
+-- At most one open visit per member. Check-in inserts against this index, so two check-ins
+-- through different nodes cannot both succeed.
+-- Duplicates left by per-node visit tracking are closed first, keeping each member's latest
+-- open visit; once the unique index exists this finds nothing.
+UPDATE attendance a SET check_out = a.check_in, duration = 0, updated_at = now()
+WHERE a.check_out IS NULL
+  AND EXISTS (SELECT 1 FROM attendance b
+              WHERE b.member_id = a.member_id AND b.check_out IS NULL
+                AND (b.check_in, b.id) > (a.check_in, a.id));
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_open_visit ON attendance(member_id) WHERE check_out IS NULL;
+-- Superseded by the unique index above
+DROP INDEX IF EXISTS idx_attendance_open;
@@ -1,5 +1,9 @@
 -- Drop tables if they exist
+DROP TABLE IF EXISTS reminder_outbox CASCADE;
 DROP TABLE IF EXISTS payment_reminders CASCADE;
+DROP TABLE IF EXISTS payment_daily_stats CASCADE;
+DROP TABLE IF EXISTS job_runs CASCADE;
+DROP TABLE IF EXISTS job_partitions CASCADE;
 DROP TABLE IF EXISTS payment_imports CASCADE;
 DROP TABLE IF EXISTS payment_exports CASCADE;
 DROP TABLE IF EXISTS payments CASCADE;
@@ -153,6 +157,7 @@ CREATE TABLE payments (
     transaction_id VARCHAR(100),
     is_recurring BOOLEAN DEFAULT false,
     recurrence_interval VARCHAR(20), -- monthly, quarterly, yearly
+    billing_period VARCHAR(7), -- yyyy-mm, set on generated recurring dues
     last_reminder_sent TIMESTAMP,
     reminder_count INTEGER DEFAULT 0,
     created_by BIGINT REFERENCES users(id),
@@ -164,6 +169,8 @@ CREATE TABLE payments (
 CREATE TABLE payment_reminders (
     id BIGSERIAL PRIMARY KEY,
     payment_id BIGINT REFERENCES payments(id),
+    member_id BIGINT REFERENCES members(id),
+    outbox_id BIGINT,
     reminder_type VARCHAR(20) NOT NULL, -- email, whatsapp
     sent_at TIMESTAMP NOT NULL,
     status VARCHAR(20) NOT NULL,
@@ -172,10 +179,74 @@ CREATE TABLE payment_reminders (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Create reminder_outbox table for durable, retryable reminder delivery
+CREATE TABLE reminder_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    kind VARCHAR(30) NOT NULL, -- membership_expiration, payment_due, payment_overdue
+    channel VARCHAR(20) NOT NULL, -- email, whatsapp
+    member_id BIGINT REFERENCES members(id),
+    payment_id BIGINT REFERENCES payments(id),
+    days_remaining INTEGER,
+    dedup_key VARCHAR(255) UNIQUE NOT NULL,
+    status VARCHAR(20) NOT NULL, -- pending, sending, sent, dead
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create payment_daily_stats rollup for dashboard statistics
+CREATE TABLE payment_daily_stats (
+    stat_date DATE NOT NULL, -- payment due date
+    status VARCHAR(20) NOT NULL,
+    type VARCHAR(30) NOT NULL, -- NONE when the payment has no type
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stat_date, status, type)
+);
+
+-- Create job_runs table recording each run of a batch job
+CREATE TABLE job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- running, completed, failed
+    rows_processed BIGINT,
+    detail TEXT,
+    error_message TEXT,
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create job_partitions table splitting scheduled job runs into member-id ranges claimed by nodes
+CREATE TABLE job_partitions (
+    job_name VARCHAR(50) NOT NULL,
+    run_key VARCHAR(50) NOT NULL, -- e.g. the sweep date or billing period
+    partition_no INTEGER NOT NULL,
+    from_id BIGINT NOT NULL, -- inclusive
+    to_id BIGINT NOT NULL, -- exclusive; the last range of a run is open-ended (max bigint)
+    status VARCHAR(20) NOT NULL, -- pending, running, completed, failed
+    owner VARCHAR(100), -- node holding or last holding the range
+    lease_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_name, run_key, partition_no)
+);
+
 -- Create payment_imports table for tracking import history
 CREATE TABLE payment_imports (
     id BIGSERIAL PRIMARY KEY,
     file_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(255),
     imported_by BIGINT REFERENCES users(id),
     total_records INTEGER,
     successful_records INTEGER,
@@ -196,10 +267,14 @@ CREATE TABLE payment_exports (
     format VARCHAR(20) NOT NULL,
     date_range_start DATE,
     date_range_end DATE,
+    payment_status VARCHAR(20),
     total_records INTEGER,
-    file_size INTEGER,
-    status VARCHAR(20) NOT NULL,
+    file_size BIGINT,
+    file_path VARCHAR(255),
+    status VARCHAR(20) NOT NULL, -- pending, running, completed, failed
     download_url VARCHAR(255),
+    error_message TEXT,
+    completed_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -229,6 +304,8 @@ CREATE INDEX idx_member_trainers_member_id ON member_trainers(member_id);
 CREATE INDEX idx_member_trainers_trainer_id ON member_trainers(trainer_id);
 CREATE INDEX idx_schedules_staff_id ON schedules(staff_id);
 CREATE INDEX idx_payment_reminders_payment_id ON payment_reminders(payment_id);
+CREATE INDEX idx_reminder_outbox_deliverable ON reminder_outbox(channel, status, next_attempt_at, id);
+CREATE INDEX idx_job_partitions_unfinished ON job_partitions(job_name, created_at) WHERE status IN ('PENDING', 'RUNNING');
 
 -- Update trigger function
 CREATE OR REPLACE FUNCTION update_updated_at_column()
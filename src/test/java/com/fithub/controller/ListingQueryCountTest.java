@@ -0,0 +1,161 @@
+package com.fithub.controller;
+
+import com.fithub.dto.CursorPage;
+import com.fithub.model.Member;
+import com.fithub.model.MemberStatus;
+import com.fithub.model.MembershipType;
+import com.fithub.model.Payment;
+import com.fithub.model.PaymentStatus;
+import com.fithub.model.PaymentType;
+import com.fithub.model.Role;
+import com.fithub.model.User;
+import com.fithub.repository.MemberRepository;
+import com.fithub.repository.PaymentRepository;
+import com.fithub.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the listing endpoints against N+1 selects: each request must prepare a fixed number of
+ * statements however many rows the page holds. The second-level cache is emptied before every
+ * request, otherwise lazily loaded members and users could come from it and hide extra selects.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@WithMockUser
+class ListingQueryCountTest {
+    private static final int ROWS = 30;
+    private static final int PAGE_SIZE = 10;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (memberRepository.count() > 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User user = userRepository.save(User.builder()
+                .name("Member " + i)
+                .email("member" + i + "@fithub.test")
+                .password("unused")
+                .role(Role.USER)
+                .build());
+            Member member = memberRepository.save(Member.builder()
+                .name("Member " + i)
+                .email("member" + i + "@fithub.test")
+                .phone("+1555000" + String.format("%04d", i))
+                .membershipType(MembershipType.values()[i % MembershipType.values().length])
+                .status(MemberStatus.ACTIVE)
+                .joinDate(today.minusYears(1))
+                .membershipExpiry(today.plusDays(i))
+                .user(user)
+                .build());
+            payments.add(Payment.builder()
+                .member(member)
+                .amount(new BigDecimal("49.99"))
+                .dueDate(today.plusDays(i))
+                .status(PaymentStatus.PENDING)
+                .type(PaymentType.MONTHLY_MEMBERSHIP)
+                .description("Monthly membership " + i)
+                .build());
+        }
+        paymentRepository.saveAll(payments);
+    }
+
+    @Test
+    void memberPageIsOneSelectAndOneCount() throws Exception {
+        assertThat(statementsFor("/api/members?page=1&size=" + PAGE_SIZE)).isEqualTo(2);
+    }
+
+    @Test
+    void paymentPageIsOneSelectAndOneCount() throws Exception {
+        assertThat(statementsFor("/api/payments?page=1&size=" + PAGE_SIZE)).isEqualTo(2);
+    }
+
+    @Test
+    void memberScrollIsOneSelect() throws Exception {
+        assertThat(statementsFor("/api/members/scroll?sortBy=id&size=" + PAGE_SIZE)).isEqualTo(1);
+        assertThat(statementsFor("/api/members/scroll?sortBy=expiry&size=" + PAGE_SIZE)).isEqualTo(1);
+    }
+
+    @Test
+    void paymentScrollIsOneSelect() throws Exception {
+        assertThat(statementsFor("/api/payments/scroll?sortBy=id&size=" + PAGE_SIZE)).isEqualTo(1);
+        assertThat(statementsFor("/api/payments/scroll?sortBy=dueDate&size=" + PAGE_SIZE)).isEqualTo(1);
+    }
+
+    @Test
+    void scrollRejectsBadCursorsAndSortKeys() throws Exception {
+        String expiryCursor = CursorPage.encodeCursor("expiry", LocalDate.now(), 1L);
+        mockMvc.perform(get("/api/members/scroll?sortBy=id&cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/members/scroll?sortBy=id&cursor=" + expiryCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/members/scroll?sortBy=name")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/payments/scroll?sortBy=dueDate&cursor=" + expiryCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/payments/scroll?sortBy=amount")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void memberSearchIsOneSelect() throws Exception {
+        assertThat(statementsFor("/api/members/search?q=member&size=" + PAGE_SIZE)).isEqualTo(1);
+    }
+
+    @Test
+    void paymentSearchIsOneSelect() throws Exception {
+        assertThat(statementsFor("/api/payments/search?status=PENDING&size=" + PAGE_SIZE)).isEqualTo(1);
+        assertThat(statementsFor("/api/payments/search?q=monthly&size=" + PAGE_SIZE)).isEqualTo(1);
+    }
+
+    private long statementsFor(String url) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}